@@ -0,0 +1,59 @@
+package group.msg.at.cloud.cloudtrain.adapter.rest;
+
+import jakarta.json.bind.Jsonb;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of the custom {@link LocaleJsonSerializer} and {@link LocaleJsonDeserializer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocaleJsonbBenchmark {
+
+    private Jsonb jsonb;
+
+    private LocalizedValue value;
+
+    private String body;
+
+    @Setup
+    public void setUp() {
+        jsonb = new JsonbConfiguration().getContext(LocalizedValue.class);
+        value = new LocalizedValue();
+        value.setLocale(Locale.forLanguageTag("de-AT"));
+        body = jsonb.toJson(value);
+    }
+
+    @Benchmark
+    public String serializeLocale() {
+        return jsonb.toJson(value);
+    }
+
+    @Benchmark
+    public LocalizedValue deserializeLocale() {
+        return jsonb.fromJson(body, LocalizedValue.class);
+    }
+
+    /**
+     * Minimal holder type carrying a {@link Locale} property.
+     */
+    public static class LocalizedValue {
+
+        private Locale locale;
+
+        public Locale getLocale() {
+            return locale;
+        }
+
+        public void setLocale(Locale locale) {
+            this.locale = locale;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package group.msg.at.cloud.cloudtrain.adapter.rest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import group.msg.at.cloud.cloudtrain.core.entity.BenchmarkTasks;
+import group.msg.at.cloud.cloudtrain.core.entity.Task;
+import jakarta.json.bind.Jsonb;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares size and encoding/decoding cost of lists of {@link Task}s represented as JSON with JSON-B
+ * and as CBOR with the Jackson mapper of {@link CborMessageBodyProvider}.
+ * <p>
+ * The encoded sizes of both representations are printed once per trial.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskCborBenchmark {
+
+    private static final Type TASK_LIST_TYPE = new ArrayList<Task>() {
+    }.getClass().getGenericSuperclass();
+
+    private static final TypeReference<List<Task>> TASK_LIST_TYPE_REFERENCE = new TypeReference<>() {
+    };
+
+    @Param({"1", "100", "10000"})
+    public int taskCount;
+
+    private Jsonb jsonb;
+
+    private ObjectMapper cborMapper;
+
+    private List<Task> tasks;
+
+    private byte[] jsonBody;
+
+    private byte[] cborBody;
+
+    @Setup
+    public void setUp() throws IOException {
+        jsonb = new JsonbConfiguration().getContext(Task.class);
+        cborMapper = CborMessageBodyProvider.createMapper();
+        tasks = BenchmarkTasks.createTasks(taskCount);
+        jsonBody = jsonb.toJson(tasks).getBytes(StandardCharsets.UTF_8);
+        cborBody = cborMapper.writeValueAsBytes(tasks);
+        System.out.printf("%n%d tasks: JSON %d bytes, CBOR %d bytes (%.0f%%)%n",
+                taskCount, jsonBody.length, cborBody.length, 100.0 * cborBody.length / jsonBody.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return jsonb.toJson(tasks).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] encodeCbor() throws IOException {
+        return cborMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public List<Task> decodeJson() {
+        return jsonb.fromJson(new String(jsonBody, StandardCharsets.UTF_8), TASK_LIST_TYPE);
+    }
+
+    @Benchmark
+    public List<Task> decodeCbor() throws IOException {
+        return cborMapper.readValue(cborBody, TASK_LIST_TYPE_REFERENCE);
+    }
+}
@@ -0,0 +1,61 @@
+package group.msg.at.cloud.cloudtrain.adapter.rest;
+
+import group.msg.at.cloud.cloudtrain.core.entity.BenchmarkTasks;
+import group.msg.at.cloud.cloudtrain.core.entity.Task;
+import jakarta.json.bind.Jsonb;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of serializing and deserializing {@link Task} instances with the JSON-B instance
+ * provided by {@link JsonbConfiguration}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskJsonbBenchmark {
+
+    private static final Type TASK_LIST_TYPE = new ArrayList<Task>() {
+    }.getClass().getGenericSuperclass();
+
+    @Param({"1", "100", "10000"})
+    public int taskCount;
+
+    private Jsonb jsonb;
+
+    private List<Task> tasks;
+
+    private String singleTaskBody;
+
+    private String taskListBody;
+
+    @Setup
+    public void setUp() {
+        jsonb = new JsonbConfiguration().getContext(Task.class);
+        tasks = BenchmarkTasks.createTasks(taskCount);
+        singleTaskBody = jsonb.toJson(tasks.get(0));
+        taskListBody = jsonb.toJson(tasks);
+    }
+
+    @Benchmark
+    public String serializeTasks() {
+        return jsonb.toJson(tasks);
+    }
+
+    @Benchmark
+    public Task deserializeTask() {
+        return jsonb.fromJson(singleTaskBody, Task.class);
+    }
+
+    @Benchmark
+    public List<Task> deserializeTasks() {
+        return jsonb.fromJson(taskListBody, TASK_LIST_TYPE);
+    }
+}
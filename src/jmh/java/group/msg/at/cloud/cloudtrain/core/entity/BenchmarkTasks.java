@@ -0,0 +1,45 @@
+package group.msg.at.cloud.cloudtrain.core.entity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Creates fully populated {@link Task} instances used as benchmark input.
+ */
+public final class BenchmarkTasks {
+
+    private BenchmarkTasks() {
+    }
+
+    public static Task createTask(int index) {
+        Task result = new Task();
+        result.setId(UUID.randomUUID());
+        result.setSubject("benchmark task " + index);
+        result.setDescription("this is benchmark task number " + index + " ".repeat(64) + "with a lengthy description");
+        result.setCategory(TaskCategory.values()[index % TaskCategory.values().length]);
+        result.setPriority(TaskPriority.values()[index % TaskPriority.values().length]);
+        result.setLifeCycleState(TaskLifeCycleState.values()[index % TaskLifeCycleState.values().length]);
+        result.setSubmittedAt(LocalDateTime.now().minusDays(index % 30));
+        result.setSubmitterUserId("submitter");
+        result.setDueDate(LocalDateTime.now().plusDays(index % 30));
+        result.setCompletionRate(index % 101);
+        result.setResponsibleUserId("responsible");
+        result.setAffectedProjectId("CloudTrain");
+        result.setAffectedApplicationId("cnj-tracing");
+        result.setAffectedModule("tasks");
+        result.setAffectedResource("api/v1/tasks");
+        result.setEstimatedEffort(index % 40);
+        result.setActualEffort(index % 50);
+        return result;
+    }
+
+    public static List<Task> createTasks(int count) {
+        List<Task> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(createTask(i));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,55 @@
+package group.msg.at.cloud.cloudtrain.core.entity;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of validating {@link Task} instances via Bean Validation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+
+    private Validator validator;
+
+    private Task validTask;
+
+    private Task invalidTask;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validTask = BenchmarkTasks.createTask(1);
+        invalidTask = BenchmarkTasks.createTask(2);
+        invalidTask.setSubject("x".repeat(81));
+        invalidTask.setPriority(null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Task>> validateValidTask() {
+        return validator.validate(validTask);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Task>> validateInvalidTask() {
+        return validator.validate(invalidTask);
+    }
+}
@@ -17,7 +17,21 @@ then
 	  PAYARA_ARGUMENTS="${PAYARA_ARGUMENTS} --logProperties /home/payara/logging-text.properties"
 	fi
 	echo "PAYARA_ARGUMENTS=${PAYARA_ARGUMENTS}"
-	java ${JAVA_OPTS} ${EXT_JAVA_OPTS} ${AGENT_JAVA_OPTS} ${DOCKER_JAVA_OPTS} ${PAYARA_JAVA_OPTS} -jar ${JAVA_APPLICATION_HOME}/${JAVA_APPLICATION} ${PAYARA_ARGUMENTS}
+	if [ "$CDS_ENABLED" = "true" ] && [ -f "$CDS_ARCHIVE_FILE" ]
+	then
+	  CDS_JAVA_OPTS="-XX:SharedArchiveFile=${CDS_ARCHIVE_FILE} -Xshare:auto"
+	fi
+	echo "CDS_JAVA_OPTS=${CDS_JAVA_OPTS}"
+	java ${JAVA_OPTS} ${CDS_JAVA_OPTS} ${EXT_JAVA_OPTS} ${AGENT_JAVA_OPTS} ${DOCKER_JAVA_OPTS} ${PAYARA_JAVA_OPTS} -jar ${JAVA_APPLICATION_HOME}/${JAVA_APPLICATION} ${PAYARA_ARGUMENTS}
+elif [ "$1" = "train" ]
+then
+	echo "Running Payara Microprofile application to train AppCDS archive ${CDS_ARCHIVE_FILE}"
+	# the archive is dumped when the JVM terminates, so the JVM has to receive SIGTERM directly
+	exec java ${JAVA_OPTS} -XX:ArchiveClassesAtExit=${CDS_ARCHIVE_FILE} ${EXT_JAVA_OPTS} ${DOCKER_JAVA_OPTS} ${PAYARA_JAVA_OPTS} -jar ${JAVA_APPLICATION_HOME}/${JAVA_APPLICATION} ${PAYARA_ARGUMENTS} --logProperties /home/payara/logging-text.properties
+elif [ "$1" = "migrate" ]
+then
+	echo "Running database migrations"
+	exec java ${JAVA_OPTS} ${EXT_JAVA_OPTS} ${DOCKER_JAVA_OPTS} -cp "${JAVA_APPLICATION_HOME}/migration/*" group.msg.at.cloud.cloudtrain.adapter.persistence.migration.FlywayMigrationCommand
 else
 	exec "$@"
 fi
@@ -0,0 +1,23 @@
+package group.msg.at.cloud.cloudtrain.adapter.health;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Readiness check which reports this application as ready only after the {@link StartupWarmup} completed.
+ */
+@Readiness
+@ApplicationScoped
+public class StartupReadinessCheck implements HealthCheck {
+
+    @Inject
+    StartupWarmup warmup;
+
+    @Override
+    public HealthCheckResponse call() {
+        return HealthCheckResponse.named("startup").status(warmup.isCompleted()).build();
+    }
+}
@@ -0,0 +1,106 @@
+package group.msg.at.cloud.cloudtrain.adapter.health;
+
+import group.msg.at.cloud.cloudtrain.adapter.persistence.jpa.repository.GenericRepository;
+import group.msg.at.cloud.cloudtrain.adapter.rest.JsonbConfiguration;
+import group.msg.at.cloud.cloudtrain.adapter.rest.grantedpermissions.GrantedPermissionsClient;
+import group.msg.at.cloud.cloudtrain.core.entity.Task;
+import group.msg.at.cloud.cloudtrain.core.entity.TaskChange;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.json.bind.Jsonb;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Warms up all expensive infrastructure on the request path right after startup, so the first requests
+ * after the application became ready are not slowed down by lazy initialization.
+ * <p>
+ * Runs the JPA queries on the hot path once, serializes and deserializes a task with the shared JSON-B instance
+ * and creates an instance of the {@link GrantedPermissionsClient}. Failures are logged only, since warming up
+ * is an optimization. The {@link StartupReadinessCheck} reports the application as ready once warming up
+ * completed; the time from JVM start until then is logged and exposed as metric {@code cloudtrain.startup.readyTime}.
+ * </p>
+ */
+@ApplicationScoped
+public class StartupWarmup {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartupWarmup.class);
+
+    @Resource
+    ManagedExecutorService executor;
+
+    @Inject
+    GenericRepository repository;
+
+    @Inject
+    @RestClient
+    Instance<GrantedPermissionsClient> grantedPermissionsClients;
+
+    @Inject
+    MetricRegistry metricRegistry;
+
+    private volatile boolean completed;
+
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        executor.execute(this::warmUp);
+    }
+
+    /**
+     * Returns {@code true} if warming up completed.
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    private void warmUp() {
+        long startedAt = System.nanoTime();
+        Task task = run("JPA", this::warmUpPersistence);
+        run("JSON-B", () -> warmUpJsonb(task != null ? task : new Task()));
+        run("REST client", () -> {
+            GrantedPermissionsClient client = this.grantedPermissionsClients.get();
+            this.grantedPermissionsClients.destroy(client);
+            return client;
+        });
+        long warmupMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        long readyMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        metricRegistry.gauge("cloudtrain.startup.warmupTime", () -> warmupMillis);
+        metricRegistry.gauge("cloudtrain.startup.readyTime", () -> readyMillis);
+        completed = true;
+        LOGGER.info("application ready {} ms after JVM start; warming up took {} ms", readyMillis, warmupMillis);
+    }
+
+    private Task warmUpPersistence() {
+        this.repository.queryValues(Long.class, TaskChange.QUERY_LATEST_ID, null);
+        List<Task> tasks = this.repository.queryEntities(Task.class, Task.QUERY_ALL, Map.of(), 1);
+        return tasks.isEmpty() ? null : tasks.get(0);
+    }
+
+    private Task warmUpJsonb(Task task) {
+        Jsonb jsonb = new JsonbConfiguration().getContext(Task.class);
+        return jsonb.fromJson(jsonb.toJson(task), Task.class);
+    }
+
+    private static <T> T run(String name, Supplier<T> step) {
+        long startedAt = System.nanoTime();
+        try {
+            T result = step.get();
+            LOGGER.debug("warmed up {} in {} ms", name, (System.nanoTime() - startedAt) / 1_000_000);
+            return result;
+        } catch (RuntimeException ex) {
+            LOGGER.warn("failed to warm up {}", name, ex);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package group.msg.at.cloud.cloudtrain.adapter.persistence.jdbc;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Listens to notifications sent to a PostgreSQL channel via {@code NOTIFY} or {@code pg_notify}.
+ * <p>
+ * Holds a dedicated database connection until closed; notifications are only delivered after
+ * the notifying transaction has been committed.
+ * </p>
+ */
+public final class PostgresNotificationListener implements AutoCloseable {
+
+    private final Connection connection;
+
+    private final PGConnection notifyingConnection;
+
+    /**
+     * Starts listening to the given channel.
+     *
+     * @param dataSource data source to take the dedicated connection from
+     * @param channel    name of the channel; must be a valid SQL identifier
+     */
+    public PostgresNotificationListener(DataSource dataSource, String channel) throws SQLException {
+        this.connection = dataSource.getConnection();
+        try {
+            this.notifyingConnection = this.connection.unwrap(PGConnection.class);
+            try (Statement statement = this.connection.createStatement()) {
+                statement.execute("LISTEN " + channel);
+            }
+        } catch (SQLException ex) {
+            this.connection.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Waits until at least one notification arrives or the given timeout elapses.
+     *
+     * @return {@code true} if at least one notification arrived
+     */
+    public boolean await(Duration timeout) throws SQLException {
+        PGNotification[] notifications = this.notifyingConnection.getNotifications((int) timeout.toMillis());
+        return notifications != null && notifications.length > 0;
+    }
+
+    /**
+     * Stops listening and returns the dedicated connection to the pool.
+     */
+    @Override
+    public void close() throws SQLException {
+        try (Statement statement = this.connection.createStatement()) {
+            statement.execute("UNLISTEN *");
+        } finally {
+            this.connection.close();
+        }
+    }
+}
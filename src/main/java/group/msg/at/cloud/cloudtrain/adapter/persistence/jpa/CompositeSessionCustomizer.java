@@ -0,0 +1,30 @@
+package group.msg.at.cloud.cloudtrain.adapter.persistence.jpa;
+
+import group.msg.at.cloud.cloudtrain.adapter.persistence.jpa.cache.CacheCoordinationCustomizer;
+import group.msg.at.cloud.cloudtrain.adapter.persistence.jpa.logging.SqlLoggingCustomizer;
+import group.msg.at.cloud.cloudtrain.adapter.persistence.jpa.pool.StatementCacheCustomizer;
+import org.eclipse.persistence.config.SessionCustomizer;
+import org.eclipse.persistence.sessions.Session;
+
+import java.util.List;
+
+/**
+ * EclipseLink session customizer that applies all session customizers of this application in order.
+ * <p>
+ * Required since property {@code eclipselink.session.customizer} in {@code persistence.xml} accepts a single class only.
+ * </p>
+ */
+public class CompositeSessionCustomizer implements SessionCustomizer {
+
+    private final List<SessionCustomizer> customizers = List.of(
+            new CacheCoordinationCustomizer(),
+            new StatementCacheCustomizer(),
+            new SqlLoggingCustomizer());
+
+    @Override
+    public void customize(Session session) throws Exception {
+        for (SessionCustomizer customizer : customizers) {
+            customizer.customize(session);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package group.msg.at.cloud.cloudtrain.adapter.persistence.jpa.cache;
+
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.eclipse.persistence.config.SessionCustomizer;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.sessions.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * EclipseLink session customizer that switches off cache coordination unless explicitly enabled.
+ * <p>
+ * Cache coordination between multiple application instances is configured in {@code persistence.xml} and
+ * distributes cache invalidations via the Hazelcast cluster shipped with Payara. Since it only works with
+ * Payara clustering enabled, it has to be enabled explicitly via {@code cloudtrain.persistence.cache.coordination.enabled}.
+ * Without coordination, cached tasks are still evicted on all instances via the task change notifications
+ * of PostgreSQL.
+ * </p>
+ */
+public class CacheCoordinationCustomizer implements SessionCustomizer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheCoordinationCustomizer.class);
+
+    @Override
+    public void customize(Session session) {
+        boolean enabled = ConfigProvider.getConfig().getOptionalValue("cloudtrain.persistence.cache.coordination.enabled", Boolean.class).orElse(false);
+        if (!enabled && session instanceof AbstractSession abstractSession) {
+            LOGGER.info("cache coordination disabled: cached entities are invalidated on this instance only");
+            abstractSession.setShouldPropagateChanges(false);
+            abstractSession.setCommandManager(null);
+        }
+    }
+}
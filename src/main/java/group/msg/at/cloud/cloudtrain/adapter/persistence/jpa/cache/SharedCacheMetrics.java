@@ -0,0 +1,46 @@
+package group.msg.at.cloud.cloudtrain.adapter.persistence.jpa.cache;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records hits and misses of the JPA shared cache per entity type and exposes them as application metrics,
+ * including the resulting hit ratio.
+ */
+@ApplicationScoped
+public class SharedCacheMetrics {
+
+    @Inject
+    MetricRegistry metricRegistry;
+
+    private final Map<Class<?>, EntityCacheMetrics> metricsByEntityType = new ConcurrentHashMap<>();
+
+    public void recordLookup(Class<?> entityType, boolean hit) {
+        EntityCacheMetrics metrics = metricsByEntityType.computeIfAbsent(entityType, this::register);
+        if (hit) {
+            metrics.hits().inc();
+        } else {
+            metrics.misses().inc();
+        }
+    }
+
+    private EntityCacheMetrics register(Class<?> entityType) {
+        Tag entity = new Tag("entity", entityType.getSimpleName());
+        Counter hits = metricRegistry.counter("cloudtrain.persistence.cache.hits", entity);
+        Counter misses = metricRegistry.counter("cloudtrain.persistence.cache.misses", entity);
+        metricRegistry.gauge("cloudtrain.persistence.cache.hitRatio", () -> {
+            long lookups = hits.getCount() + misses.getCount();
+            return lookups > 0 ? (double) hits.getCount() / lookups : 0.0;
+        }, entity);
+        return new EntityCacheMetrics(hits, misses);
+    }
+
+    private record EntityCacheMetrics(Counter hits, Counter misses) {
+    }
+}
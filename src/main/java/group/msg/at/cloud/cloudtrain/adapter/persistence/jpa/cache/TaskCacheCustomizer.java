@@ -0,0 +1,42 @@
+package group.msg.at.cloud.cloudtrain.adapter.persistence.jpa.cache;
+
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.eclipse.persistence.config.CacheIsolationType;
+import org.eclipse.persistence.config.DescriptorCustomizer;
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.invalidation.TimeToLiveCacheInvalidationPolicy;
+
+import java.time.Duration;
+
+/**
+ * EclipseLink descriptor customizer that configures the shared cache of entity {@code Task}.
+ * <p>
+ * The cache holds at most {@code cloudtrain.persistence.cache.task.size} tasks; cached tasks expire after
+ * {@code cloudtrain.persistence.cache.task.ttl}. Registered via property
+ * {@code eclipselink.descriptor.customizer.Task} in {@code persistence.xml}.
+ * </p>
+ * <p>
+ * Tasks changed by any instance are evicted from the cache of all instances by the
+ * {@link group.msg.at.cloud.cloudtrain.adapter.rest.TaskChangeFeed} as soon as their change notification
+ * has been processed; the TTL only bounds staleness if notifications are lost, e.g. while reconnecting.
+ * The cache can be switched off via {@code cloudtrain.persistence.cache.task.enabled}.
+ * </p>
+ */
+public class TaskCacheCustomizer implements DescriptorCustomizer {
+
+    @Override
+    public void customize(ClassDescriptor descriptor) {
+        Config config = ConfigProvider.getConfig();
+        if (!config.getOptionalValue("cloudtrain.persistence.cache.task.enabled", Boolean.class).orElse(true)) {
+            descriptor.setCacheIsolation(CacheIsolationType.ISOLATED);
+            return;
+        }
+        int size = config.getOptionalValue("cloudtrain.persistence.cache.task.size", Integer.class).orElse(5000);
+        Duration ttl = config.getOptionalValue("cloudtrain.persistence.cache.task.ttl", Duration.class).orElse(Duration.ofMinutes(5));
+        descriptor.setCacheIsolation(CacheIsolationType.SHARED);
+        descriptor.useCacheIdentityMap();
+        descriptor.setIdentityMapSize(size);
+        descriptor.setCacheInvalidationPolicy(new TimeToLiveCacheInvalidationPolicy(ttl.toMillis()));
+    }
+}
@@ -0,0 +1,135 @@
+package group.msg.at.cloud.cloudtrain.adapter.persistence.jpa.logging;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+import org.eclipse.microprofile.metrics.Timer;
+import org.eclipse.persistence.internal.databaseaccess.DatabaseCall;
+import org.eclipse.persistence.jpa.JpaEntityManagerFactory;
+import org.eclipse.persistence.queries.Call;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.sessions.DataRecord;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Logs and counts all SQL statements executed by the persistence unit taking longer than
+ * {@code cloudtrain.persistence.slowQuery.threshold}; a threshold of {@code PT0S} disables slow query detection.
+ * <p>
+ * Each slow statement is logged as a single line of {@code key=value} pairs with its duration, the number of rows
+ * returned or affected, the name of the JPA query, the boundary method that triggered it and the SQL statement
+ * without bind parameters. Durations are recorded per boundary method by timer
+ * {@code cloudtrain.persistence.slowQueries}.
+ * </p>
+ * <p>
+ * Durations are measured around the execution of the statement on the connection, so the first statement of
+ * a transaction includes the time to acquire a connection from the pool.
+ * </p>
+ */
+@ApplicationScoped
+public class SlowQueryLogger {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SlowQueryLogger.class);
+
+    /**
+     * Package of all boundaries whose methods are reported as trigger of slow statements.
+     */
+    private static final String BOUNDARY_PACKAGE = "group.msg.at.cloud.cloudtrain.core.boundary.";
+
+    private static final String UNKNOWN = "unknown";
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    @Inject
+    @ConfigProperty(name = "cloudtrain.persistence.slowQuery.threshold", defaultValue = "PT0.5S")
+    Duration threshold;
+
+    @Inject
+    MetricRegistry metricRegistry;
+
+    @PersistenceUnit(unitName = "CNJ_PERSISTENCE_UNIT")
+    EntityManagerFactory entityManagerFactory;
+
+    private final Map<String, Timer> timersByBoundaryMethod = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<long[]> callStartedAt = ThreadLocal.withInitial(() -> new long[1]);
+
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        if (threshold.isZero() || threshold.isNegative()) {
+            LOGGER.info("slow query detection disabled");
+            return;
+        }
+        long thresholdNanos = threshold.toNanos();
+        entityManagerFactory.unwrap(JpaEntityManagerFactory.class).getServerSession().getEventManager().addListener(new SessionEventAdapter() {
+            @Override
+            public void preExecuteCall(SessionEvent event) {
+                callStartedAt.get()[0] = System.nanoTime();
+            }
+
+            @Override
+            public void postExecuteCall(SessionEvent event) {
+                long duration = System.nanoTime() - callStartedAt.get()[0];
+                if (duration >= thresholdNanos) {
+                    onSlowCall(event.getCall(), event.getResult(), duration);
+                }
+            }
+        });
+    }
+
+    private void onSlowCall(Call call, Object result, long durationNanos) {
+        String boundaryMethod = getBoundaryMethod();
+        Duration duration = Duration.ofNanos(durationNanos);
+        timersByBoundaryMethod.computeIfAbsent(boundaryMethod, this::register).update(duration);
+        DatabaseQuery query = call instanceof DatabaseCall databaseCall ? databaseCall.getQuery() : null;
+        LOGGER.warn("slow query: durationMillis={} rows={} boundaryMethod={} query={} sql={}",
+                duration.toMillis(),
+                getRowCount(result),
+                boundaryMethod,
+                query != null && query.getName() != null ? query.getName() : UNKNOWN,
+                call instanceof DatabaseCall databaseCall ? databaseCall.getSQLString() : call);
+    }
+
+    private Timer register(String boundaryMethod) {
+        return metricRegistry.timer("cloudtrain.persistence.slowQueries", new Tag("method", boundaryMethod));
+    }
+
+    /**
+     * Returns the outermost boundary method on the stack of the current thread, skipping container generated proxies.
+     */
+    private static String getBoundaryMethod() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(BOUNDARY_PACKAGE)
+                        && frame.getClassName().indexOf('$') < 0
+                        && !frame.getClassName().startsWith("__", BOUNDARY_PACKAGE.length()))
+                .reduce((inner, outer) -> outer)
+                .map(frame -> frame.getClassName().substring(BOUNDARY_PACKAGE.length()) + "." + frame.getMethodName())
+                .orElse(UNKNOWN));
+    }
+
+    /**
+     * Returns the number of rows returned or affected by a statement or {@code -1} if unknown, e.g. for cursors.
+     */
+    private static int getRowCount(Object result) {
+        if (result instanceof Collection<?> rows) {
+            return rows.size();
+        } else if (result instanceof Integer affectedRows) {
+            return affectedRows;
+        } else if (result instanceof DataRecord) {
+            return 1;
+        }
+        return result == null ? 0 : -1;
+    }
+}
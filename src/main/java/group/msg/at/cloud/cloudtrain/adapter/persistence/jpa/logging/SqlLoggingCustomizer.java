@@ -0,0 +1,32 @@
+package group.msg.at.cloud.cloudtrain.adapter.persistence.jpa.logging;
+
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.eclipse.persistence.config.SessionCustomizer;
+import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.sessions.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * EclipseLink session customizer that switches on logging of all SQL statements including their bind parameters.
+ * <p>
+ * Logging every statement costs considerable CPU and I/O under load, so SQL logging is off by default and meant
+ * for local development only; enable it via {@code cloudtrain.persistence.logging.sql.enabled}. In production,
+ * the {@link SlowQueryLogger} reports only statements exceeding a configurable duration.
+ * </p>
+ */
+public class SqlLoggingCustomizer implements SessionCustomizer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SqlLoggingCustomizer.class);
+
+    @Override
+    public void customize(Session session) {
+        boolean enabled = ConfigProvider.getConfig().getOptionalValue("cloudtrain.persistence.logging.sql.enabled", Boolean.class).orElse(false);
+        if (enabled) {
+            LOGGER.info("SQL logging enabled: all SQL statements are logged including their bind parameters");
+            SessionLog sessionLog = session.getSessionLog();
+            sessionLog.setLevel(SessionLog.FINE, SessionLog.SQL);
+            sessionLog.setShouldDisplayData(Boolean.TRUE);
+        }
+    }
+}
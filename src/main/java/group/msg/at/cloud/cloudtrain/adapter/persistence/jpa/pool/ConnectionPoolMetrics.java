@@ -0,0 +1,61 @@
+package group.msg.at.cloud.cloudtrain.adapter.persistence.jpa.pool;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.persistence.jpa.JpaEntityManagerFactory;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventAdapter;
+import org.eclipse.persistence.sessions.server.ServerSession;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exposes the usage of the JDBC connection pool by the persistence unit as application metrics.
+ * <p>
+ * The connection pool itself is managed by Payara, so only what EclipseLink observes via session events is recorded:
+ * gauge {@code cloudtrain.persistence.jpa.connections.held} counts the connections currently held by EclipseLink and
+ * gauge {@code cloudtrain.persistence.pool.maxSize} reports the configured maximum pool size.
+ * </p>
+ * <p>
+ * Active and idle connections of the whole pool, the time waited for a connection and the statement cache hit rate
+ * are <em>not</em> exported; they are only available from Payara's own JDBC connection pool monitoring.
+ * </p>
+ */
+@ApplicationScoped
+public class ConnectionPoolMetrics {
+
+    @Inject
+    MetricRegistry metricRegistry;
+
+    @PersistenceUnit(unitName = "CNJ_PERSISTENCE_UNIT")
+    EntityManagerFactory entityManagerFactory;
+
+    @Inject
+    @ConfigProperty(name = "cloudtrain.persistence.pool.maxSize", defaultValue = "32")
+    int maxPoolSize;
+
+    private final AtomicInteger heldConnections = new AtomicInteger();
+
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        metricRegistry.gauge("cloudtrain.persistence.jpa.connections.held", heldConnections::get);
+        metricRegistry.gauge("cloudtrain.persistence.pool.maxSize", () -> maxPoolSize);
+        ServerSession session = entityManagerFactory.unwrap(JpaEntityManagerFactory.class).getServerSession();
+        session.getEventManager().addListener(new SessionEventAdapter() {
+            @Override
+            public void postAcquireConnection(SessionEvent event) {
+                heldConnections.incrementAndGet();
+            }
+
+            @Override
+            public void preReleaseConnection(SessionEvent event) {
+                heldConnections.decrementAndGet();
+            }
+        });
+    }
+}
@@ -0,0 +1,35 @@
+package group.msg.at.cloud.cloudtrain.adapter.persistence.jpa.pool;
+
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.eclipse.persistence.config.SessionCustomizer;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Session;
+
+/**
+ * EclipseLink session customizer that configures the statement cache of EclipseLink.
+ * <p>
+ * Since connections are pooled by Payara, EclipseLink keeps prepared statements only as long as it holds
+ * a connection, i.e. for the duration of a transaction; this pays off for transactions executing the same
+ * statements repeatedly like task batches. Statements are cached across transactions by the statement cache
+ * of the Payara connection pool and by server-side prepared statements of the PostgreSQL driver, both
+ * configured in {@code web.xml}.
+ * </p>
+ * <p>
+ * Caching is switched on and off via {@code cloudtrain.persistence.statementCache.enabled}; the number of
+ * statements cached per connection is configured via {@code cloudtrain.persistence.statementCache.size}.
+ * </p>
+ */
+public class StatementCacheCustomizer implements SessionCustomizer {
+
+    @Override
+    public void customize(Session session) {
+        Config config = ConfigProvider.getConfig();
+        boolean enabled = config.getOptionalValue("cloudtrain.persistence.statementCache.enabled", Boolean.class).orElse(true);
+        int size = config.getOptionalValue("cloudtrain.persistence.statementCache.size", Integer.class).orElse(50);
+        if (session.getDatasourceLogin() instanceof DatabaseLogin login) {
+            login.setShouldCacheAllStatements(enabled);
+            login.setStatementCacheSize(size);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package group.msg.at.cloud.cloudtrain.adapter.persistence.jpa.repository;
+
+import org.eclipse.persistence.queries.Cursor;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the entities of a query result as the underlying JDBC cursor advances.
+ * <p>
+ * Entities already returned are released periodically, so memory consumption does not depend on the size of
+ * the result set. The cursor must be closed within the transaction it was opened in.
+ * </p>
+ *
+ * @param <T> type of the entities
+ */
+public final class EntityCursor<T> implements Iterator<T>, AutoCloseable {
+
+    private final Class<T> entityType;
+
+    private final Cursor cursor;
+
+    private final int releaseInterval;
+
+    private int read;
+
+    EntityCursor(Class<T> entityType, Cursor cursor, int releaseInterval) {
+        this.entityType = entityType;
+        this.cursor = cursor;
+        this.releaseInterval = releaseInterval;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return cursor.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!cursor.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (read > 0 && read % releaseInterval == 0) {
+            // release all entities already returned
+            cursor.clear();
+        }
+        read++;
+        return entityType.cast(cursor.next());
+    }
+
+    @Override
+    public void close() {
+        cursor.close();
+    }
+}
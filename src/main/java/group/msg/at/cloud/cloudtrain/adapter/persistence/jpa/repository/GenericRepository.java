@@ -1,9 +1,28 @@
 package group.msg.at.cloud.cloudtrain.adapter.persistence.jpa.repository;
 
+import group.msg.at.cloud.cloudtrain.adapter.persistence.jpa.cache.SharedCacheMetrics;
 import group.msg.at.cloud.common.persistence.jpa.repository.AbstractGenericRepository;
 import jakarta.ejb.Stateless;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptors;
+import jakarta.persistence.Cache;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import org.eclipse.persistence.config.QueryHints;
+import org.eclipse.persistence.config.ResultSetType;
+import org.eclipse.persistence.jpa.JpaQuery;
+import org.eclipse.persistence.queries.Cursor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Concrete Implementation of an {@link AbstractGenericRepository}.
@@ -12,20 +31,32 @@ import jakarta.persistence.PersistenceContext;
  * session bean and to bind the {@code AbstractGenericRepository} to the actual {@code EntityManager} known to this
  * application.
  * </p>
+ * <p>
+ * The duration of all calls is added to the repository time of the current boundary call.
+ * </p>
  *
  * @author Michael Theis (mtheis@msg.group)
  * @version 1.0
  * @since release 1.0
  */
 @Stateless
+@Interceptors(RepositoryTimingInterceptor.class)
 public class GenericRepository extends AbstractGenericRepository {
 
+    /**
+     * Number of rows fetched per JDBC round-trip when streaming query results.
+     */
+    private static final int STREAMING_FETCH_SIZE = 256;
+
     /**
      * Actual persistence context of this application
      */
     @PersistenceContext
     private EntityManager entityManager;
 
+    @Inject
+    private SharedCacheMetrics cacheMetrics;
+
     /**
      * @see group.msg.at.cloud.common.persistence.jpa.repository.AbstractGenericRepository#getEntityManager()
      */
@@ -33,4 +64,199 @@ public class GenericRepository extends AbstractGenericRepository {
     protected EntityManager getEntityManager() {
         return this.entityManager;
     }
+
+    /**
+     * Returns the entity with the given ID like {@code getEntityById} but records whether the entity
+     * has been found in the shared cache.
+     *
+     * @param entityType type of the requested entity
+     * @param id         ID of the requested entity
+     * @return entity or {@code null} if no entity with the given ID exists
+     */
+    public <T> T findEntityById(Class<T> entityType, Object id) {
+        this.cacheMetrics.recordLookup(entityType, this.entityManager.getEntityManagerFactory().getCache().contains(entityType, id));
+        return this.entityManager.find(entityType, id);
+    }
+
+    /**
+     * Returns the entity with the given ID read from the database, bypassing the shared cache.
+     * <p>
+     * The shared cache is refreshed with the entity read, so it is meant for reads preceding modifications
+     * which must not be based on stale cached state.
+     * </p>
+     *
+     * @param entityType type of the requested entity
+     * @param id         ID of the requested entity
+     * @return entity or {@code null} if no entity with the given ID exists
+     */
+    public <T> T findCurrentEntityById(Class<T> entityType, Object id) {
+        return this.entityManager.find(entityType, id, Map.of(
+                "jakarta.persistence.cache.retrieveMode", CacheRetrieveMode.BYPASS,
+                "jakarta.persistence.cache.storeMode", CacheStoreMode.REFRESH));
+    }
+
+    /**
+     * Merges the given detached entity into the persistence context like {@code setEntity} but returns the managed entity.
+     *
+     * @param entity detached entity
+     * @return managed entity reflecting all merged changes
+     */
+    public <T> T mergeEntity(T entity) {
+        return this.entityManager.merge(entity);
+    }
+
+    /**
+     * Removes the entities with the given IDs from the shared cache.
+     * <p>
+     * Required after bulk updates or deletes which bypass the persistence context.
+     * </p>
+     */
+    public void evictEntities(Class<?> entityType, Collection<?> ids) {
+        Cache cache = this.entityManager.getEntityManagerFactory().getCache();
+        ids.forEach(id -> cache.evict(entityType, id));
+    }
+
+    /**
+     * Runs the given named query and returns at most {@code maxResults} entities.
+     *
+     * @param entityType type of the queried entities
+     * @param queryName  name of the named query
+     * @param parameters named query parameters; may be {@code null}
+     * @param maxResults maximum number of returned entities
+     */
+    public <T> List<T> queryEntities(Class<T> entityType, String queryName, Map<String, Object> parameters, int maxResults) {
+        TypedQuery<T> query = this.entityManager.createNamedQuery(queryName, entityType);
+        applyParameters(query, parameters);
+        query.setMaxResults(maxResults);
+        return query.getResultList();
+    }
+
+    /**
+     * Runs the given named native query with positional parameters and returns the resulting entities.
+     *
+     * @param entityType type of the queried entities
+     * @param queryName  name of the named native query
+     * @param parameters positional query parameters in order
+     */
+    public <T> List<T> queryNativeEntities(Class<T> entityType, String queryName, Object... parameters) {
+        TypedQuery<T> query = this.entityManager.createNamedQuery(queryName, entityType);
+        for (int i = 0; i < parameters.length; i++) {
+            query.setParameter(i + 1, parameters[i]);
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Runs the given named query returning values of the given type instead of entities (e.g. IDs or aggregates).
+     *
+     * @param resultType type of the returned values
+     * @param queryName  name of the named query
+     * @param parameters named query parameters; may be {@code null}
+     */
+    public <R> List<R> queryValues(Class<R> resultType, String queryName, Map<String, Object> parameters) {
+        TypedQuery<R> query = this.entityManager.createNamedQuery(queryName, resultType);
+        applyParameters(query, parameters);
+        return query.getResultList();
+    }
+
+    /**
+     * Runs the given named query returning at most {@code maxResults} values of the given type instead of entities.
+     *
+     * @param resultType type of the returned values
+     * @param queryName  name of the named query
+     * @param parameters named query parameters; may be {@code null}
+     * @param maxResults maximum number of returned values
+     */
+    public <R> List<R> queryValues(Class<R> resultType, String queryName, Map<String, Object> parameters, int maxResults) {
+        TypedQuery<R> query = this.entityManager.createNamedQuery(queryName, resultType);
+        applyParameters(query, parameters);
+        query.setMaxResults(maxResults);
+        return query.getResultList();
+    }
+
+    /**
+     * Runs the given named bulk update or delete query.
+     *
+     * @param queryName  name of the named query
+     * @param parameters named query parameters; may be {@code null}
+     * @return number of affected rows
+     */
+    public int executeUpdate(String queryName, Map<String, Object> parameters) {
+        Query query = this.entityManager.createNamedQuery(queryName);
+        applyParameters(query, parameters);
+        return query.executeUpdate();
+    }
+
+    /**
+     * Synchronizes all pending changes of the persistence context with the database.
+     */
+    public void flush() {
+        this.entityManager.flush();
+    }
+
+    /**
+     * Returns a criteria builder to build dynamic queries to be passed to {@link #queryEntities(CriteriaQuery, int)}.
+     */
+    public CriteriaBuilder getCriteriaBuilder() {
+        return this.entityManager.getCriteriaBuilder();
+    }
+
+    /**
+     * Runs the given criteria query and returns at most {@code maxResults} entities.
+     *
+     * @param criteriaQuery dynamic query built with {@link #getCriteriaBuilder()}
+     * @param maxResults    maximum number of returned entities
+     */
+    public <T> List<T> queryEntities(CriteriaQuery<T> criteriaQuery, int maxResults) {
+        TypedQuery<T> query = this.entityManager.createQuery(criteriaQuery);
+        query.setMaxResults(maxResults);
+        return query.getResultList();
+    }
+
+    /**
+     * Runs the given criteria tuple query and returns at most {@code maxResults} tuples.
+     * <p>
+     * Tuple queries select only some attributes of entities; thus, no entities are instantiated or attached
+     * to the persistence context.
+     * </p>
+     *
+     * @param criteriaQuery dynamic tuple query built with {@link #getCriteriaBuilder()}
+     * @param maxResults    maximum number of returned tuples
+     */
+    public List<Tuple> queryTuples(CriteriaQuery<Tuple> criteriaQuery, int maxResults) {
+        TypedQuery<Tuple> query = this.entityManager.createQuery(criteriaQuery);
+        query.setMaxResults(maxResults);
+        return query.getResultList();
+    }
+
+    /**
+     * Runs the given named query and returns a cursor reading the resulting entities from the database as it advances.
+     * <p>
+     * Entities are read-only and not attached to the persistence context, so memory consumption does not
+     * depend on the size of the result set. Must be called within a transaction which stays active until
+     * the returned cursor is closed.
+     * </p>
+     *
+     * @param entityType type of the queried entities
+     * @param queryName  name of the named query
+     * @param parameters named query parameters; may be {@code null}
+     * @return open cursor which must be closed by the caller
+     */
+    public <T> EntityCursor<T> openEntityCursor(Class<T> entityType, String queryName, Map<String, Object> parameters) {
+        TypedQuery<T> query = this.entityManager.createNamedQuery(queryName, entityType);
+        applyParameters(query, parameters);
+        query.setHint(QueryHints.READ_ONLY, Boolean.TRUE);
+        query.setHint(QueryHints.SCROLLABLE_CURSOR, Boolean.TRUE);
+        query.setHint(QueryHints.RESULT_SET_TYPE, ResultSetType.ForwardOnly);
+        query.setHint(QueryHints.JDBC_FETCH_SIZE, STREAMING_FETCH_SIZE);
+        // EclipseLink's getResultStream() reads the whole result list, so iterate the cursor directly
+        Cursor cursor = query.unwrap(JpaQuery.class).getResultCursor();
+        return new EntityCursor<>(entityType, cursor, STREAMING_FETCH_SIZE);
+    }
+
+    private static void applyParameters(Query query, Map<String, Object> parameters) {
+        if (parameters != null) {
+            parameters.forEach(query::setParameter);
+        }
+    }
 }
@@ -0,0 +1,21 @@
+package group.msg.at.cloud.cloudtrain.adapter.persistence.jpa.repository;
+
+import group.msg.at.cloud.cloudtrain.core.control.LayerTimings;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.InvocationContext;
+
+/**
+ * Adds the duration of all calls of the intercepted repository to the repository time of the current boundary call.
+ */
+public class RepositoryTimingInterceptor {
+
+    @AroundInvoke
+    public Object timeCall(InvocationContext context) throws Exception {
+        long startedAt = System.nanoTime();
+        try {
+            return context.proceed();
+        } finally {
+            LayerTimings.addRepositoryTime(System.nanoTime() - startedAt);
+        }
+    }
+}
@@ -4,9 +4,17 @@ import jakarta.annotation.PostConstruct;
 import jakarta.annotation.Resource;
 import jakarta.ejb.Singleton;
 import jakarta.ejb.Startup;
-import org.flywaydb.core.Flyway;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationInfoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.Locale;
 
 /**
  * Flyway database auto-migrator that performs database migrations on application startup.
@@ -14,17 +22,56 @@ import javax.sql.DataSource;
  * All migration statements must be located at {@code classpath:db/migration} which might be either
  * packaged with this application or with a utility JAR of this application.
  * </p>
+ * <p>
+ * What happens on startup depends on {@code cloudtrain.persistence.migration.mode}:
+ * </p>
+ * <ul>
+ *     <li>{@code migrate}: applies all pending migrations (default)</li>
+ *     <li>{@code verify}: only checks that no migration is pending or failed, e.g. if migrations are applied once
+ *     per release by the {@link FlywayMigrationCommand}; neither takes the Flyway lock nor validates checksums</li>
+ *     <li>{@code none}: skips all database checks</li>
+ * </ul>
  */
 @Startup
 @Singleton
 public class FlywayDatabaseAutoMigrator {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(FlywayDatabaseAutoMigrator.class);
+
     @Resource(lookup = "java:global/cnj-postgres-datasource")
     private DataSource dataSource;
 
+    @Inject
+    @ConfigProperty(name = "cloudtrain.persistence.migration.mode", defaultValue = "migrate")
+    String mode;
+
+    @Inject
+    MetricRegistry metricRegistry;
+
     @PostConstruct
     public void migrateDatabase() {
-        Flyway flyway = Flyway.configure().dataSource(this.dataSource).load();
-        flyway.migrate();
+        long startedAt = System.nanoTime();
+        switch (mode.toLowerCase(Locale.ROOT)) {
+            case "migrate" -> FlywayMigrationCommand.configure(this.dataSource).migrate();
+            case "verify" -> verify(FlywayMigrationCommand.configure(this.dataSource).info());
+            case "none" -> LOGGER.info("database migration skipped");
+            default -> throw new IllegalStateException(String.format("unsupported database migration mode [%s]", mode));
+        }
+        long durationMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        LOGGER.info("database migration mode [{}] completed in {} ms", mode, durationMillis);
+        metricRegistry.gauge("cloudtrain.startup.migrationTime", () -> durationMillis);
+    }
+
+    private static void verify(MigrationInfoService info) {
+        MigrationInfo[] pending = info.pending();
+        if (pending.length > 0) {
+            throw new IllegalStateException(String.format("database schema is outdated: %d migrations up to version [%s] are pending",
+                    pending.length, pending[pending.length - 1].getVersion()));
+        }
+        if (Arrays.stream(info.applied()).anyMatch(migration -> migration.getState().isFailed())) {
+            throw new IllegalStateException("database schema is inconsistent: at least one migration failed");
+        }
+        MigrationInfo current = info.current();
+        LOGGER.info("database schema is up-to-date at version [{}]", current != null ? current.getVersion() : "none");
     }
 }
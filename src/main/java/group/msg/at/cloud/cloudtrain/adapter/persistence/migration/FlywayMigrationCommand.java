@@ -0,0 +1,50 @@
+package group.msg.at.cloud.cloudtrain.adapter.persistence.migration;
+
+import org.flywaydb.core.Flyway;
+import org.postgresql.ds.PGSimpleDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Command line entry point applying all pending database migrations without starting the application.
+ * <p>
+ * Meant to run once per release, e.g. as Kubernetes job before the application pods are rolled out, while
+ * the application itself runs with {@code cloudtrain.persistence.migration.mode=verify}. Connects to the database
+ * configured by the same environment variables as the datasource of the application.
+ * </p>
+ * <p>
+ * Packaged with its dependencies into folder {@code migration} of the Docker image and started with command
+ * {@code migrate} of the Docker entrypoint; thus, this class must not depend on any Jakarta EE or MicroProfile API.
+ * </p>
+ */
+public final class FlywayMigrationCommand {
+
+    private FlywayMigrationCommand() {
+    }
+
+    public static void main(String[] args) {
+        PGSimpleDataSource dataSource = new PGSimpleDataSource();
+        dataSource.setServerNames(new String[]{getRequiredEnv("POSTGRES_DB_HOST")});
+        dataSource.setPortNumbers(new int[]{Integer.parseInt(System.getenv().getOrDefault("POSTGRES_DB_PORT", "5432"))});
+        dataSource.setDatabaseName(getRequiredEnv("POSTGRES_DB_NAME"));
+        dataSource.setUser(getRequiredEnv("POSTGRES_DB_USER"));
+        dataSource.setPassword(getRequiredEnv("POSTGRES_DB_PASSWORD"));
+        dataSource.setLoginTimeout(10);
+        configure(dataSource).migrate();
+    }
+
+    /**
+     * Returns the Flyway configuration shared by this command and the {@link FlywayDatabaseAutoMigrator}.
+     */
+    static Flyway configure(DataSource dataSource) {
+        return Flyway.configure().dataSource(dataSource).load();
+    }
+
+    private static String getRequiredEnv(String name) {
+        String result = System.getenv(name);
+        if (result == null || result.isBlank()) {
+            throw new IllegalStateException(String.format("missing required environment variable [%s]", name));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,105 @@
+package group.msg.at.cloud.cloudtrain.adapter.rest;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Reads and writes entities as <a href="https://www.rfc-editor.org/rfc/rfc8949">CBOR</a> with Jackson.
+ * <p>
+ * CBOR is offered as compact binary alternative to JSON for service-to-service consumers: it uses the same
+ * data model and property names as the JSON representation, but saves the parsing of text and writes UUIDs
+ * as binary. Date-times are written as ISO-8601 strings like in JSON.
+ * </p>
+ */
+@Provider
+@Consumes(CborMessageBodyProvider.APPLICATION_CBOR)
+@Produces(CborMessageBodyProvider.APPLICATION_CBOR)
+public class CborMessageBodyProvider implements MessageBodyReader<Object>, MessageBodyWriter<Object> {
+
+    public static final String APPLICATION_CBOR = "application/cbor";
+
+    public static final MediaType APPLICATION_CBOR_TYPE = new MediaType("application", "cbor");
+
+    private final ObjectMapper mapper = createMapper();
+
+    /**
+     * Creates the Jackson mapper used to read and write CBOR.
+     */
+    static ObjectMapper createMapper() {
+        SimpleModule persistenceModule = new SimpleModule("cnj-persistence");
+        persistenceModule.setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc, List<BeanPropertyWriter> beanProperties) {
+                // skip accessors added to entities by EclipseLink weaving
+                beanProperties.removeIf(property -> property.getName().startsWith("_persistence_"));
+                return beanProperties;
+            }
+        });
+        return CBORMapper.builder()
+                .addModule(new JavaTimeModule())
+                .addModule(persistenceModule)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .build();
+    }
+
+    @Override
+    public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return isCbor(mediaType) && !InputStream.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public Object readFrom(Class<Object> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                           MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException {
+        try {
+            return mapper.readerFor(mapper.constructType(genericType)).readValue(entityStream);
+        } catch (JsonProcessingException ex) {
+            throw new BadRequestException("invalid CBOR request entity", ex);
+        }
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return isCbor(mediaType) && !StreamingOutput.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public void writeTo(Object entity, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        mapper.writerFor(mapper.constructType(genericType)).writeValue(entityStream, entity);
+    }
+
+    private static boolean isCbor(MediaType mediaType) {
+        return mediaType != null && mediaType.isCompatible(APPLICATION_CBOR_TYPE) && !mediaType.isWildcardSubtype();
+    }
+}
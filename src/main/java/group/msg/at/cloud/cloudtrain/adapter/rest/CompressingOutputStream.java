@@ -0,0 +1,155 @@
+package group.msg.at.cloud.cloudtrain.adapter.rest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Output stream which buffers all bytes written up to a given threshold and starts compressing once
+ * the threshold is exceeded.
+ * <p>
+ * If fewer bytes than the threshold are written, they are passed on uncompressed when the stream is finished.
+ * </p>
+ */
+final class CompressingOutputStream extends OutputStream {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final OutputStream target;
+
+    private final String encoding;
+
+    private final int threshold;
+
+    /**
+     * Called once right before the first compressed byte is written, e.g. to set the {@code Content-Encoding}.
+     */
+    private final Runnable onCompress;
+
+    private ByteArrayOutputStream buffer;
+
+    private OutputStream compressor;
+
+    private boolean finished;
+
+    /**
+     * {@code true} if writing the entity failed; no further bytes are passed to the target stream.
+     */
+    private boolean released;
+
+    CompressingOutputStream(OutputStream target, String encoding, int threshold, Runnable onCompress) {
+        this.target = target;
+        this.encoding = encoding;
+        this.threshold = threshold;
+        this.onCompress = onCompress;
+        this.buffer = new ByteArrayOutputStream(Math.min(threshold, BUFFER_SIZE));
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        if (compressor == null && buffer.size() + length > threshold) {
+            startCompression();
+        }
+        if (compressor != null) {
+            compressor.write(bytes, offset, length);
+        } else {
+            buffer.write(bytes, offset, length);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        // buffered bytes are held back until the threshold is exceeded or the stream is finished
+        if (compressor != null) {
+            compressor.flush();
+        }
+    }
+
+    /**
+     * Writes all pending bytes to the target stream without closing it.
+     */
+    void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        if (compressor != null) {
+            // closing the compressor releases its native resources but leaves the target stream open
+            compressor.close();
+        } else {
+            buffer.writeTo(target);
+            buffer = null;
+        }
+        target.flush();
+    }
+
+    /**
+     * Releases the native resources of the compressor without writing pending bytes to the target stream;
+     * called instead of {@link #finish()} if writing the entity failed.
+     */
+    void release() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        released = true;
+        buffer = null;
+        if (compressor != null) {
+            try {
+                compressor.close();
+            } catch (IOException ex) {
+                // nothing is written to the target stream anymore, so closing only ends the compressor
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+        target.close();
+    }
+
+    private void startCompression() throws IOException {
+        onCompress.run();
+        OutputStream unclosable = new FilterOutputStream(target) {
+            @Override
+            public void write(int b) throws IOException {
+                if (!released) {
+                    out.write(b);
+                }
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                if (!released) {
+                    out.write(bytes, offset, length);
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (!released) {
+                    out.flush();
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+        compressor = CompressionWriterInterceptor.GZIP.equals(encoding)
+                ? new GZIPOutputStream(unclosable, BUFFER_SIZE)
+                : new DeflaterOutputStream(unclosable);
+        buffer.writeTo(compressor);
+        buffer = null;
+    }
+}
@@ -0,0 +1,125 @@
+package group.msg.at.cloud.cloudtrain.adapter.rest;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Compresses JSON response entities with {@code gzip} or {@code deflate} if accepted by the client.
+ * <p>
+ * Entities are only compressed if they exceed {@code cloudtrain.rest.compression.minSize} bytes, since compressing
+ * small entities costs more CPU than it saves bandwidth. The first bytes of each entity are buffered to decide
+ * whether to compress; larger entities like streamed task lists are still written as a stream.
+ * </p>
+ */
+@Provider
+@Priority(Priorities.ENTITY_CODER)
+public class CompressionWriterInterceptor implements WriterInterceptor {
+
+    static final String GZIP = "gzip";
+
+    static final String DEFLATE = "deflate";
+
+    @Inject
+    @ConfigProperty(name = "cloudtrain.rest.compression.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @Inject
+    @ConfigProperty(name = "cloudtrain.rest.compression.minSize", defaultValue = "1024")
+    int minSize;
+
+    @Context
+    HttpHeaders requestHeaders;
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        if (!enabled || !isJson(context.getMediaType()) || context.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            context.proceed();
+            return;
+        }
+        // the response varies by the accepted encodings even if this request does not accept any
+        context.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        String encoding = negotiateEncoding(this.requestHeaders.getHeaderString(HttpHeaders.ACCEPT_ENCODING));
+        if (encoding == null) {
+            context.proceed();
+            return;
+        }
+        CompressingOutputStream output = new CompressingOutputStream(context.getOutputStream(), encoding, minSize, () -> {
+            context.getHeaders().putSingle(HttpHeaders.CONTENT_ENCODING, encoding);
+            context.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+        });
+        context.setOutputStream(output);
+        boolean written = false;
+        try {
+            context.proceed();
+            written = true;
+        } finally {
+            if (written) {
+                output.finish();
+            } else {
+                output.release();
+            }
+        }
+    }
+
+    private static boolean isJson(MediaType mediaType) {
+        return mediaType != null && ("json".equals(mediaType.getSubtype()) || mediaType.getSubtype().endsWith("+json"));
+    }
+
+    /**
+     * Returns the preferred encoding among the encodings accepted by the given {@code Accept-Encoding} header;
+     * {@code gzip} is preferred over {@code deflate} if both are equally acceptable.
+     *
+     * @return {@code gzip}, {@code deflate} or {@code null} if none of both is acceptable
+     */
+    static String negotiateEncoding(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+        float gzip = -1;
+        float deflate = -1;
+        float wildcard = -1;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            float quality = parseQuality(parts);
+            switch (coding) {
+                case GZIP, "x-gzip" -> gzip = Math.max(gzip, quality);
+                case DEFLATE -> deflate = Math.max(deflate, quality);
+                case "*" -> wildcard = quality;
+                default -> {
+                }
+            }
+        }
+        gzip = gzip < 0 ? wildcard : gzip;
+        deflate = deflate < 0 ? wildcard : deflate;
+        if (gzip > 0 && gzip >= deflate) {
+            return GZIP;
+        }
+        return deflate > 0 ? DEFLATE : null;
+    }
+
+    private static float parseQuality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Float.parseFloat(parameter.substring(2));
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
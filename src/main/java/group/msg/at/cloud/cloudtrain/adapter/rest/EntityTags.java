@@ -0,0 +1,103 @@
+package group.msg.at.cloud.cloudtrain.adapter.rest;
+
+import group.msg.at.cloud.cloudtrain.core.entity.Task;
+import group.msg.at.cloud.cloudtrain.core.entity.TaskVersion;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Response;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Creates strong entity tags for {@link Task} entities and collections of {@code Task} entities.
+ * <p>
+ * Entity tags are derived from the ID and the optimistic lock version of each task, so they change whenever
+ * a task is modified and can be computed from the versions alone without loading the tasks.
+ * </p>
+ */
+final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    static EntityTag of(UUID taskId, int version) {
+        return new EntityTag(taskId + "-" + version);
+    }
+
+    static EntityTag of(Task task) {
+        return of(task.getId(), task.getVersion());
+    }
+
+    static EntityTag ofVersions(List<TaskVersion> versions) {
+        MessageDigest digest = newDigest();
+        for (TaskVersion current : versions) {
+            digest.update((current.id() + ":" + current.version() + ",").getBytes(StandardCharsets.UTF_8));
+        }
+        return new EntityTag(Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest()));
+    }
+
+    static EntityTag ofTasks(List<Task> tasks) {
+        return ofVersions(tasks.stream().map(t -> new TaskVersion(t.getId(), t.getVersion())).toList());
+    }
+
+    /**
+     * Checks if the value of an {@code If-None-Match} header matches the given entity tag using weak comparison.
+     *
+     * @param ifNoneMatch value of the {@code If-None-Match} header; may be {@code null}
+     * @param tag         current entity tag
+     * @return {@code true} if the client's copy is still up-to-date
+     */
+    static boolean matches(String ifNoneMatch, EntityTag tag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String expected = "\"" + tag.getValue() + "\"";
+        for (String current : ifNoneMatch.split(",")) {
+            String candidate = current.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Extracts the task version from the value of an {@code If-Match} header.
+     *
+     * @param ifMatch value of the {@code If-Match} header; may be {@code null}
+     * @param taskId  ID of the task the header refers to
+     * @return version or {@code null} if there is no header or the header matches any version
+     * @throws WebApplicationException with status code 412 if the header does not match the given task
+     */
+    static Integer parseVersion(String ifMatch, UUID taskId) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        String prefix = "\"" + taskId + "-";
+        if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+            try {
+                return Integer.valueOf(tag.substring(prefix.length(), tag.length() - 1));
+            } catch (NumberFormatException ex) {
+                // malformed entity tags never match
+            }
+        }
+        throw new WebApplicationException(Response.Status.PRECONDITION_FAILED);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM", ex);
+        }
+    }
+}
@@ -17,19 +17,18 @@ import jakarta.ws.rs.ext.Provider;
 @Provider
 public class JsonbConfiguration implements ContextResolver<Jsonb> {
 
-    private final Jsonb jsonb;
-
-    public JsonbConfiguration() {
-        JsonbConfig config = new JsonbConfig()
-                .withFormatting(false)
-                .withSerializers(new LocaleJsonSerializer())
-                .withDeserializers(new LocaleJsonDeserializer());
-        jsonb = JsonbBuilder.create(config);
-    }
+    /**
+     * Single JSON-B instance shared by all instances of this class, so its cached class models can be warmed up
+     * on startup.
+     */
+    private static final Jsonb JSONB = JsonbBuilder.create(new JsonbConfig()
+            .withFormatting(false)
+            .withSerializers(new LocaleJsonSerializer())
+            .withDeserializers(new LocaleJsonDeserializer()));
 
     @Override
     public Jsonb getContext(Class<?> type) {
-        return jsonb;
+        return JSONB;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package group.msg.at.cloud.cloudtrain.adapter.rest;
+
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.ext.ParamConverter;
+import jakarta.ws.rs.ext.ParamConverterProvider;
+import jakarta.ws.rs.ext.Provider;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Custom JAX-RS parameter converter provider for type {@link LocalDateTime}.
+ * <p>
+ * Query and path parameters of type {@code LocalDateTime} are expected in ISO-8601 format
+ * (e.g. {@code 2024-03-01T12:00:00}); invalid values are rejected with status code 400.
+ * </p>
+ */
+@Provider
+public class LocalDateTimeParamConverterProvider implements ParamConverterProvider {
+
+    private static final ParamConverter<LocalDateTime> CONVERTER = new ParamConverter<>() {
+
+        @Override
+        public LocalDateTime fromString(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            try {
+                return LocalDateTime.parse(value);
+            } catch (DateTimeParseException ex) {
+                throw new BadRequestException(String.format("invalid date/time [%s]: expected ISO-8601 format", value), ex);
+            }
+        }
+
+        @Override
+        public String toString(LocalDateTime value) {
+            return value != null ? value.toString() : null;
+        }
+    };
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> ParamConverter<T> getConverter(Class<T> rawType, Type genericType, Annotation[] annotations) {
+        return rawType == LocalDateTime.class ? (ParamConverter<T>) CONVERTER : null;
+    }
+}
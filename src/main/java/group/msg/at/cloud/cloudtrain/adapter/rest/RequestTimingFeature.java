@@ -0,0 +1,74 @@
+package group.msg.at.cloud.cloudtrain.adapter.rest;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.DynamicFeature;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.FeatureContext;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+import org.eclipse.microprofile.metrics.Timer;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times all requests per resource method and exposes the durations as timer {@code cloudtrain.rest.requests}
+ * tagged with the resource method and the outcome, i.e. the status family of the response like {@code successful}
+ * or {@code client_error}.
+ * <p>
+ * Requests are timed until their response is about to be written; writing large or streamed entities is not included.
+ * </p>
+ */
+@Provider
+public class RequestTimingFeature implements DynamicFeature {
+
+    @Inject
+    MetricRegistry metricRegistry;
+
+    @Override
+    public void configure(ResourceInfo resourceInfo, FeatureContext context) {
+        String method = resourceInfo.getResourceClass().getSimpleName() + "." + resourceInfo.getResourceMethod().getName();
+        context.register(new RequestTimingFilter(metricRegistry, method));
+    }
+
+    private static final class RequestTimingFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+        private static final String STARTED_AT = RequestTimingFilter.class.getName() + ".startedAt";
+
+        private final MetricRegistry metricRegistry;
+
+        private final Tag method;
+
+        private final Map<Response.Status.Family, Timer> timersByOutcome = new ConcurrentHashMap<>();
+
+        RequestTimingFilter(MetricRegistry metricRegistry, String method) {
+            this.metricRegistry = metricRegistry;
+            this.method = new Tag("method", method);
+        }
+
+        @Override
+        public void filter(ContainerRequestContext requestContext) {
+            requestContext.setProperty(STARTED_AT, System.nanoTime());
+        }
+
+        @Override
+        public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+            if (requestContext.getProperty(STARTED_AT) instanceof Long startedAt) {
+                Duration duration = Duration.ofNanos(System.nanoTime() - startedAt);
+                timersByOutcome.computeIfAbsent(responseContext.getStatusInfo().getFamily(), this::register).update(duration);
+            }
+        }
+
+        private Timer register(Response.Status.Family family) {
+            return metricRegistry.timer("cloudtrain.rest.requests", method, new Tag("outcome", family.name().toLowerCase(Locale.ROOT)));
+        }
+    }
+}
@@ -0,0 +1,547 @@
+package group.msg.at.cloud.cloudtrain.adapter.rest;
+
+import group.msg.at.cloud.cloudtrain.adapter.persistence.jdbc.PostgresNotificationListener;
+import group.msg.at.cloud.cloudtrain.adapter.persistence.jpa.repository.GenericRepository;
+import group.msg.at.cloud.cloudtrain.core.entity.Task;
+import group.msg.at.cloud.cloudtrain.core.entity.TaskChange;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import jakarta.enterprise.concurrent.ManagedThreadFactory;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes the {@link TaskChange}s of all application instances as Server-Sent Events to all subscribers.
+ * <p>
+ * A single dispatcher thread listens to the PostgreSQL channel notified by the change log trigger of table
+ * {@code T_TASK}, reads new changes from the change log and passes them to all subscribers in the order of their IDs.
+ * Each subscriber buffers a bounded number of events; the dispatcher only triggers draining a buffer, which runs
+ * on the container's managed executor and continues as soon as the previous event has been sent, so there is no
+ * thread per subscriber and a slow client never blocks the dispatcher. Subscribers falling behind by more than
+ * their buffer size are closed and may resume via {@code Last-Event-ID}.
+ * </p>
+ * <p>
+ * Change IDs are allocated before commit, so a change of a concurrent transaction may become visible after changes
+ * with greater IDs. The dispatcher waits a short time for missing IDs before skipping them; skipped IDs are
+ * looked up again for a bounded time and changes showing up late are sent as soon as they become visible,
+ * i.e. out of order. Changes committed even later are not sent to live subscribers.
+ * </p>
+ * <p>
+ * New subscribers are admitted by the dispatcher thread as well: all changes after the given ID are replayed
+ * from the change log page by page as buffer space becomes available, before the subscriber receives new changes.
+ * </p>
+ * <p>
+ * If the shared cache of tasks is enabled, the dispatcher evicts all tasks changed by any instance from the cache
+ * of this instance as soon as their changes are read, even if the feed itself is disabled; thus, replicas serve
+ * stale cached tasks only until the change notification has been processed instead of until the cache TTL expires.
+ * </p>
+ */
+@ApplicationScoped
+public class TaskChangeFeed {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskChangeFeed.class);
+
+    /**
+     * Channel notified by the change log trigger of table {@code T_TASK}.
+     */
+    private static final String CHANNEL = "cloudtrain_task_changes";
+
+    private static final Duration POLL_INTERVAL = Duration.ofSeconds(1);
+
+    /**
+     * Poll interval while subscribers are catching up, so replaying does not wait for notifications.
+     */
+    private static final Duration CATCH_UP_INTERVAL = Duration.ofMillis(50);
+
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(5);
+
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(30);
+
+    /**
+     * Time to wait for missing change IDs to show up before skipping them.
+     */
+    private static final Duration GAP_TIMEOUT = Duration.ofSeconds(2);
+
+    /**
+     * Time to keep looking up skipped change IDs; IDs of rolled back transactions never show up.
+     */
+    private static final Duration LATE_CHANGE_WINDOW = Duration.ofMinutes(1);
+
+    private static final int MAX_SKIPPED_CHANGES = 10_000;
+
+    private static final int PAGE_SIZE = 1000;
+
+    /**
+     * Maximum number of events buffered per subscriber; must hold at least one replayed page.
+     */
+    private static final int SUBSCRIBER_BUFFER_SIZE = 2 * PAGE_SIZE;
+
+    @Inject
+    @ConfigProperty(name = "cloudtrain.tasks.changes.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @Inject
+    @ConfigProperty(name = "cloudtrain.persistence.cache.task.enabled", defaultValue = "true")
+    boolean cacheEnabled;
+
+    @Resource(lookup = "java:global/cnj-postgres-datasource")
+    DataSource dataSource;
+
+    @Resource
+    ManagedThreadFactory threadFactory;
+
+    @Resource
+    ManagedExecutorService executor;
+
+    @Inject
+    GenericRepository repository;
+
+    private final Queue<Subscriber> joiningSubscribers = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Subscribers replaying missed changes; only accessed by the dispatcher thread.
+     */
+    private final List<Subscriber> catchingUpSubscribers = new ArrayList<>();
+
+    /**
+     * Active subscribers; only accessed by the dispatcher thread.
+     */
+    private final List<Subscriber> subscribers = new ArrayList<>();
+
+    /**
+     * Start of the lookup of skipped change IDs in nanoseconds by change ID in the order the IDs were skipped;
+     * only accessed by the dispatcher thread.
+     */
+    private final Map<Long, Long> skippedChanges = new LinkedHashMap<>();
+
+    private volatile boolean running;
+
+    private Thread dispatcher;
+
+    /**
+     * ID of the last change sent to all active subscribers; only accessed by the dispatcher thread.
+     */
+    private long lastChangeId;
+
+    /**
+     * Start of the wait for a missing change ID in nanoseconds or {@code 0} if no change ID is missing.
+     */
+    private long gapDetectedAt;
+
+    private long lastHeartbeatAt;
+
+    private long lastLateChangesCheckAt;
+
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        if (enabled || cacheEnabled) {
+            running = true;
+            dispatcher = threadFactory.newThread(this::dispatch);
+            dispatcher.setName("cnj-task-change-feed");
+            dispatcher.start();
+        }
+    }
+
+    @PreDestroy
+    void onPreDestroy() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+    }
+
+    /**
+     * Registers the given event sink to receive all changes with an ID greater than the given ID.
+     */
+    public void subscribe(SseEventSink eventSink, Sse sse, long after) {
+        if (!enabled) {
+            throw new IllegalStateException("task change feed is disabled");
+        }
+        joiningSubscribers.add(new Subscriber(eventSink, sse, executor, after));
+    }
+
+    private void dispatch() {
+        lastChangeId = getLatestChangeId();
+        long now = System.nanoTime();
+        lastHeartbeatAt = now;
+        while (running) {
+            try (PostgresNotificationListener listener = new PostgresNotificationListener(dataSource, CHANNEL)) {
+                // catch up with all changes missed while not listening
+                sendNewChanges();
+                while (running) {
+                    boolean notified = listener.await(catchingUpSubscribers.isEmpty() ? POLL_INTERVAL : CATCH_UP_INTERVAL);
+                    if (notified || gapDetectedAt != 0) {
+                        sendNewChanges();
+                    }
+                    sendLateChangesIfDue(notified);
+                    admitJoiningSubscribers();
+                    sendHeartbeatIfDue();
+                }
+            } catch (SQLException | RuntimeException ex) {
+                if (running) {
+                    LOGGER.warn("task change feed failed; reconnecting in {}", RECONNECT_DELAY, ex);
+                    sleep(RECONNECT_DELAY);
+                }
+            }
+        }
+        subscribers.forEach(Subscriber::cancel);
+        catchingUpSubscribers.forEach(Subscriber::cancel);
+        joiningSubscribers.forEach(Subscriber::cancel);
+    }
+
+    private void sendNewChanges() {
+        List<TaskChange> changes;
+        do {
+            changes = this.repository.queryEntities(TaskChange.class, TaskChange.QUERY_AFTER, Map.of("after", lastChangeId), PAGE_SIZE);
+            // evict changed tasks right away, even if sending changes has to wait for missing change IDs
+            evictCachedTasks(changes);
+            for (TaskChange change : changes) {
+                if (change.getId() != lastChangeId + 1) {
+                    if (!isGapTimedOut()) {
+                        return;
+                    }
+                    skip(lastChangeId + 1, change.getId());
+                }
+                gapDetectedAt = 0;
+                sendToAll(change);
+                lastChangeId = change.getId();
+            }
+        } while (changes.size() == PAGE_SIZE);
+    }
+
+    private boolean isGapTimedOut() {
+        long now = System.nanoTime();
+        if (gapDetectedAt == 0) {
+            gapDetectedAt = now;
+        }
+        return now - gapDetectedAt >= GAP_TIMEOUT.toNanos();
+    }
+
+    /**
+     * Remembers all change IDs from the given ID (inclusive) to the given ID (exclusive) as skipped.
+     */
+    private void skip(long from, long to) {
+        long now = System.nanoTime();
+        for (long id = Math.max(from, to - MAX_SKIPPED_CHANGES); id < to; id++) {
+            skippedChanges.put(id, now);
+        }
+        Iterator<Long> eldest = skippedChanges.keySet().iterator();
+        while (skippedChanges.size() > MAX_SKIPPED_CHANGES) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private void sendToAll(TaskChange change) {
+        removeClosed(subscriber -> subscriber.send(change));
+    }
+
+    /**
+     * Looks up skipped change IDs on each notification or once per poll interval and sends all changes
+     * showing up late to all subscribers.
+     */
+    private void sendLateChangesIfDue(boolean notified) {
+        long now = System.nanoTime();
+        if (skippedChanges.isEmpty() || !notified && now - lastLateChangesCheckAt < POLL_INTERVAL.toNanos()) {
+            return;
+        }
+        lastLateChangesCheckAt = now;
+        Iterator<Long> skippedAt = skippedChanges.values().iterator();
+        while (skippedAt.hasNext()) {
+            if (now - skippedAt.next() < LATE_CHANGE_WINDOW.toNanos()) {
+                break;
+            }
+            skippedAt.remove();
+        }
+        List<Long> ids = skippedChanges.keySet().stream().limit(PAGE_SIZE).toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<TaskChange> changes = this.repository.queryEntities(TaskChange.class, TaskChange.QUERY_BY_IDS, Map.of("ids", ids), PAGE_SIZE);
+        evictCachedTasks(changes);
+        for (TaskChange change : changes) {
+            LOGGER.debug("sending task change [{}] committed late", change.getId());
+            skippedChanges.remove(change.getId());
+            removeClosed(subscriber -> subscriber.sendLate(change));
+            catchingUpSubscribers.forEach(subscriber -> subscriber.sendLate(change));
+        }
+    }
+
+    /**
+     * Replays one page of missed changes to each joining subscriber with sufficient buffer space and adds
+     * subscribers which caught up to the active subscribers.
+     * <p>
+     * Skipped changes are not replayed, since they are sent to all subscribers once they show up.
+     * </p>
+     */
+    private void admitJoiningSubscribers() {
+        Subscriber joining;
+        while ((joining = joiningSubscribers.poll()) != null) {
+            catchingUpSubscribers.add(joining);
+        }
+        Iterator<Subscriber> iterator = catchingUpSubscribers.iterator();
+        while (iterator.hasNext()) {
+            Subscriber subscriber = iterator.next();
+            if (subscriber.isClosed()) {
+                iterator.remove();
+                continue;
+            }
+            if (!subscriber.hasCapacity(PAGE_SIZE)) {
+                continue;
+            }
+            boolean complete = subscriber.lastSentId >= lastChangeId;
+            if (!complete) {
+                List<TaskChange> changes = this.repository.queryEntities(TaskChange.class, TaskChange.QUERY_AFTER, Map.of("after", subscriber.lastSentId), PAGE_SIZE);
+                complete = changes.size() < PAGE_SIZE;
+                for (TaskChange change : changes) {
+                    if (change.getId() > lastChangeId) {
+                        complete = true;
+                        break;
+                    }
+                    if (!skippedChanges.containsKey(change.getId())) {
+                        subscriber.send(change);
+                    }
+                    subscriber.lastSentId = change.getId();
+                }
+            }
+            if (complete) {
+                subscriber.lastSentId = Math.max(subscriber.lastSentId, lastChangeId);
+                iterator.remove();
+                subscribers.add(subscriber);
+            }
+        }
+    }
+
+    private void evictCachedTasks(List<TaskChange> changes) {
+        if (cacheEnabled && !changes.isEmpty()) {
+            this.repository.evictEntities(Task.class, changes.stream().map(TaskChange::getTaskId).collect(Collectors.toSet()));
+        }
+    }
+
+    private void sendHeartbeatIfDue() {
+        long now = System.nanoTime();
+        if (now - lastHeartbeatAt >= HEARTBEAT_INTERVAL.toNanos()) {
+            lastHeartbeatAt = now;
+            removeClosed(Subscriber::sendHeartbeat);
+        }
+    }
+
+    private void removeClosed(Consumer<Subscriber> action) {
+        Iterator<Subscriber> iterator = subscribers.iterator();
+        while (iterator.hasNext()) {
+            Subscriber subscriber = iterator.next();
+            action.accept(subscriber);
+            if (subscriber.isClosed()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private long getLatestChangeId() {
+        while (running) {
+            try {
+                Long latest = this.repository.queryValues(Long.class, TaskChange.QUERY_LATEST_ID, null).stream().findFirst().orElse(null);
+                return latest != null ? latest : 0L;
+            } catch (RuntimeException ex) {
+                LOGGER.warn("failed to read latest task change; retrying in {}", RECONNECT_DELAY, ex);
+                sleep(RECONNECT_DELAY);
+            }
+        }
+        return 0L;
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Single subscriber of this feed.
+     * <p>
+     * Events are passed by the dispatcher thread to a bounded buffer. At most one drain of the buffer is in progress
+     * at any time; it sends the buffered events one after another and, if sending an event has not completed
+     * immediately, continues on the managed executor once it has. The event sink is closed as soon as the subscriber
+     * is closed.
+     * </p>
+     */
+    private static final class Subscriber {
+
+        private final SseEventSink eventSink;
+
+        private final Sse sse;
+
+        private final ManagedExecutorService executor;
+
+        private final Queue<OutboundSseEvent> buffer = new ArrayBlockingQueue<>(SUBSCRIBER_BUFFER_SIZE);
+
+        /**
+         * Indicates that a drain of the buffer is in progress or that the event sink has been closed.
+         */
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private volatile boolean failed;
+
+        /**
+         * ID of the last change passed to this subscriber in the order of IDs; only accessed by the dispatcher thread.
+         */
+        private long lastSentId;
+
+        Subscriber(SseEventSink eventSink, Sse sse, ManagedExecutorService executor, long after) {
+            this.eventSink = eventSink;
+            this.sse = sse;
+            this.executor = executor;
+            this.lastSentId = after;
+        }
+
+        void send(TaskChange change) {
+            if (change.getId() > lastSentId) {
+                lastSentId = change.getId();
+                enqueue(toEvent(change));
+            }
+        }
+
+        /**
+         * Sends a change showing up after changes with greater IDs, unless this subscriber will receive it
+         * in the order of IDs anyway.
+         */
+        void sendLate(TaskChange change) {
+            if (change.getId() <= lastSentId) {
+                enqueue(toEvent(change));
+            }
+        }
+
+        void sendHeartbeat() {
+            enqueue(sse.newEventBuilder().comment("heartbeat").build());
+        }
+
+        boolean hasCapacity(int events) {
+            return SUBSCRIBER_BUFFER_SIZE - buffer.size() >= events;
+        }
+
+        boolean isClosed() {
+            return failed || eventSink.isClosed();
+        }
+
+        void cancel() {
+            failed = true;
+            startDraining();
+        }
+
+        private OutboundSseEvent toEvent(TaskChange change) {
+            return sse.newEventBuilder()
+                    .id(String.valueOf(change.getId()))
+                    .name(change.getType().name())
+                    .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                    .data(TaskChange.class, change)
+                    .build();
+        }
+
+        private void enqueue(OutboundSseEvent event) {
+            if (isClosed()) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                LOGGER.info("closing task change subscriber falling behind by more than {} events", SUBSCRIBER_BUFFER_SIZE);
+                failed = true;
+            }
+            startDraining();
+        }
+
+        /**
+         * Starts draining the buffer on the managed executor unless a drain is already in progress.
+         */
+        private void startDraining() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException ex) {
+                    LOGGER.debug("failed to start sending events to task change subscriber", ex);
+                    failed = true;
+                    close();
+                }
+            }
+        }
+
+        /**
+         * Sends all buffered events until sending an event does not complete immediately; draining continues
+         * once it has completed.
+         */
+        private void drain() {
+            try {
+                while (!isClosed()) {
+                    OutboundSseEvent event = buffer.poll();
+                    if (event == null) {
+                        draining.set(false);
+                        // an event enqueued after polling did not start a drain, since this drain was still in progress
+                        if (buffer.isEmpty() && !failed || !draining.compareAndSet(false, true)) {
+                            return;
+                        }
+                        continue;
+                    }
+                    CompletableFuture<?> sent = eventSink.send(event).toCompletableFuture();
+                    if (!sent.isDone()) {
+                        sent.whenCompleteAsync((result, ex) -> onSent(ex), executor);
+                        return;
+                    }
+                    sent.join();
+                }
+            } catch (RuntimeException ex) {
+                LOGGER.debug("failed to send event to task change subscriber", ex);
+                failed = true;
+            }
+            close();
+        }
+
+        private void onSent(Throwable ex) {
+            if (ex != null) {
+                LOGGER.debug("failed to send event to task change subscriber", ex);
+                failed = true;
+                close();
+            } else {
+                drain();
+            }
+        }
+
+        /**
+         * Closes the event sink; the drain flag is left set, so no further drain is started.
+         */
+        private void close() {
+            failed = true;
+            buffer.clear();
+            try {
+                eventSink.close();
+            } catch (Exception ex) {
+                LOGGER.debug("failed to close event sink of task change subscriber", ex);
+            }
+        }
+    }
+}
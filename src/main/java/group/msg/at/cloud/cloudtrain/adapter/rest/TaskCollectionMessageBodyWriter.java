@@ -0,0 +1,47 @@
+package group.msg.at.cloud.cloudtrain.adapter.rest;
+
+import group.msg.at.cloud.cloudtrain.core.entity.Task;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+/**
+ * Writes collections of {@link Task}s as JSON array element by element directly to the response stream.
+ * <p>
+ * Only applies to entities whose generic type is known to be a collection of tasks, e.g. if wrapped in a
+ * {@link jakarta.ws.rs.core.GenericEntity}.
+ * </p>
+ */
+@Provider
+@Produces(MediaType.APPLICATION_JSON)
+public class TaskCollectionMessageBodyWriter implements MessageBodyWriter<Collection<Task>> {
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return Collection.class.isAssignableFrom(type)
+                && genericType instanceof ParameterizedType parameterizedType
+                && parameterizedType.getActualTypeArguments().length == 1
+                && parameterizedType.getActualTypeArguments()[0] == Task.class
+                && MediaType.APPLICATION_JSON_TYPE.isCompatible(mediaType);
+    }
+
+    @Override
+    public void writeTo(Collection<Task> tasks, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) {
+        // the generator is not closed since the entity stream is owned by the JAX-RS runtime
+        JsonGenerator generator = TaskJsonGenerator.createGenerator(entityStream);
+        generator.writeStartArray();
+        tasks.forEach(task -> TaskJsonGenerator.write(generator, task));
+        generator.writeEnd();
+        generator.flush();
+    }
+}
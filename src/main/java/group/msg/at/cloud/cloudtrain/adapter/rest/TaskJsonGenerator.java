@@ -0,0 +1,96 @@
+package group.msg.at.cloud.cloudtrain.adapter.rest;
+
+import group.msg.at.cloud.cloudtrain.core.entity.Task;
+import jakarta.json.Json;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonGeneratorFactory;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes {@link Task}s with a {@link JsonGenerator} directly to an output stream.
+ * <p>
+ * Produces the same JSON representation as the default JSON-B mapping of tasks (properties in lexicographical
+ * order, {@code null} values omitted) without reflection and without intermediate strings, so arbitrarily
+ * long lists of tasks can be written with constant memory.
+ * </p>
+ */
+final class TaskJsonGenerator {
+
+    private static final JsonGeneratorFactory GENERATOR_FACTORY = Json.createGeneratorFactory(Map.of());
+
+    private TaskJsonGenerator() {
+    }
+
+    /**
+     * Creates a generator writing UTF-8 encoded JSON to the given stream.
+     * <p>
+     * Closing the generator closes the given stream; call {@link JsonGenerator#flush()} instead if the stream
+     * is owned by someone else.
+     * </p>
+     */
+    static JsonGenerator createGenerator(OutputStream out) {
+        return GENERATOR_FACTORY.createGenerator(out, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the given task as JSON object.
+     */
+    static void write(JsonGenerator generator, Task task) {
+        generator.writeStartObject();
+        generator.write("actualEffort", task.getActualEffort());
+        write(generator, "affectedApplicationId", task.getAffectedApplicationId());
+        write(generator, "affectedModule", task.getAffectedModule());
+        write(generator, "affectedProjectId", task.getAffectedProjectId());
+        write(generator, "affectedResource", task.getAffectedResource());
+        write(generator, "category", task.getCategory());
+        write(generator, "completedByUserId", task.getCompletedByUserId());
+        write(generator, "completionDate", task.getCompletionDate());
+        generator.write("completionRate", task.getCompletionRate());
+        write(generator, "createdAt", task.getCreatedAt());
+        write(generator, "createdBy", task.getCreatedBy());
+        write(generator, "description", task.getDescription());
+        write(generator, "dueDate", task.getDueDate());
+        generator.write("estimatedEffort", task.getEstimatedEffort());
+        write(generator, "id", task.getId());
+        write(generator, "lastModifiedAt", task.getLastModifiedAt());
+        write(generator, "lastModifiedBy", task.getLastModifiedBy());
+        write(generator, "lifeCycleState", task.getLifeCycleState());
+        write(generator, "priority", task.getPriority());
+        write(generator, "responsibleUserId", task.getResponsibleUserId());
+        write(generator, "subject", task.getSubject());
+        write(generator, "submittedAt", task.getSubmittedAt());
+        write(generator, "submitterUserId", task.getSubmitterUserId());
+        generator.write("version", task.getVersion());
+        generator.writeEnd();
+    }
+
+    private static void write(JsonGenerator generator, String name, String value) {
+        if (value != null) {
+            generator.write(name, value);
+        }
+    }
+
+    private static void write(JsonGenerator generator, String name, Enum<?> value) {
+        if (value != null) {
+            generator.write(name, value.name());
+        }
+    }
+
+    private static void write(JsonGenerator generator, String name, UUID value) {
+        if (value != null) {
+            generator.write(name, value.toString());
+        }
+    }
+
+    private static void write(JsonGenerator generator, String name, LocalDateTime value) {
+        if (value != null) {
+            generator.write(name, DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        }
+    }
+}
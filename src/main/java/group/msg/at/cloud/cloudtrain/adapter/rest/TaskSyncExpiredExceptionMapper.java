@@ -0,0 +1,18 @@
+package group.msg.at.cloud.cloudtrain.adapter.rest;
+
+import group.msg.at.cloud.cloudtrain.core.boundary.TaskSyncExpiredException;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Maps {@link TaskSyncExpiredException}s to status code 410, telling clients to fetch all tasks.
+ */
+@Provider
+public class TaskSyncExpiredExceptionMapper implements ExceptionMapper<TaskSyncExpiredException> {
+
+    @Override
+    public Response toResponse(TaskSyncExpiredException exception) {
+        return Response.status(Response.Status.GONE).build();
+    }
+}
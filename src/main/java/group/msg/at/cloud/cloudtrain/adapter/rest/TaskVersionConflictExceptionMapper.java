@@ -0,0 +1,25 @@
+package group.msg.at.cloud.cloudtrain.adapter.rest;
+
+import group.msg.at.cloud.cloudtrain.core.boundary.TaskVersionConflictException;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Maps {@link TaskVersionConflictException}s to status code 412 if the client sent an {@code If-Match} header
+ * and to status code 409 otherwise.
+ */
+@Provider
+public class TaskVersionConflictExceptionMapper implements ExceptionMapper<TaskVersionConflictException> {
+
+    @Context
+    private HttpHeaders httpHeaders;
+
+    @Override
+    public Response toResponse(TaskVersionConflictException exception) {
+        Response.Status status = this.httpHeaders.getHeaderString(HttpHeaders.IF_MATCH) != null ? Response.Status.PRECONDITION_FAILED : Response.Status.CONFLICT;
+        return Response.status(status).build();
+    }
+}
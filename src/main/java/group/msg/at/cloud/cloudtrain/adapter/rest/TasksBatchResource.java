@@ -0,0 +1,56 @@
+package group.msg.at.cloud.cloudtrain.adapter.rest;
+
+import group.msg.at.cloud.cloudtrain.core.boundary.TaskManagement;
+import group.msg.at.cloud.cloudtrain.core.entity.Task;
+import group.msg.at.cloud.cloudtrain.core.entity.TaskBatchItemResult;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST endpoint managing batches of {@link Task} entities.
+ * <p>
+ * Each batch operation is authorized once and processed in chunked transactions;
+ * the response contains the outcome of each item in the order of the request items.
+ * </p>
+ */
+@RequestScoped
+@Path("v1/tasks:batch")
+@Consumes({MediaType.APPLICATION_JSON, CborMessageBodyProvider.APPLICATION_CBOR})
+@Produces({MediaType.APPLICATION_JSON, CborMessageBodyProvider.APPLICATION_CBOR})
+@RolesAllowed("CLOUDTRAIN_USER")
+public class TasksBatchResource {
+
+    @Inject
+    private TaskManagement boundary;
+
+    @POST
+    public Response addTasks(List<Task> tasks) {
+        Response result;
+        List<TaskBatchItemResult> results = this.boundary.addTasks(tasks);
+        result = Response.ok(results).build();
+        return result;
+    }
+
+    @PUT
+    public Response modifyTasks(List<Task> tasks) {
+        Response result;
+        List<TaskBatchItemResult> results = this.boundary.modifyTasks(tasks);
+        result = Response.ok(results).build();
+        return result;
+    }
+
+    @DELETE
+    public Response removeTasks(List<UUID> taskIds) {
+        Response result;
+        List<TaskBatchItemResult> results = this.boundary.removeTasks(taskIds);
+        result = Response.ok(results).build();
+        return result;
+    }
+}
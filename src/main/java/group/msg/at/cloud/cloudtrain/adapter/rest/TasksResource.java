@@ -1,16 +1,46 @@
 package group.msg.at.cloud.cloudtrain.adapter.rest;
 
+import group.msg.at.cloud.cloudtrain.adapter.persistence.jpa.repository.EntityCursor;
 import group.msg.at.cloud.cloudtrain.core.boundary.TaskManagement;
+import group.msg.at.cloud.cloudtrain.core.control.TaskStatisticsCache;
 import group.msg.at.cloud.cloudtrain.core.entity.Task;
+import group.msg.at.cloud.cloudtrain.core.entity.TaskCategory;
+import group.msg.at.cloud.cloudtrain.core.entity.TaskDelta;
+import group.msg.at.cloud.cloudtrain.core.entity.TaskFields;
+import group.msg.at.cloud.cloudtrain.core.entity.TaskFilter;
+import group.msg.at.cloud.cloudtrain.core.entity.TaskLifeCycleState;
+import group.msg.at.cloud.cloudtrain.core.entity.TaskPriority;
+import group.msg.at.cloud.cloudtrain.core.entity.TaskStatistics;
+import group.msg.at.cloud.cloudtrain.core.entity.TaskSyncToken;
+import group.msg.at.cloud.cloudtrain.core.entity.TaskVersion;
 import group.msg.at.cloud.common.rest.uri.RouterAwareUriBuilderFactory;
+import jakarta.annotation.Resource;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
+import jakarta.json.Json;
+import jakarta.json.JsonException;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonValue;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.transaction.Status;
+import jakarta.transaction.SystemException;
+import jakarta.transaction.UserTransaction;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.*;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import jakarta.ws.rs.ext.Providers;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.io.InputStream;
+import java.io.StringReader;
 import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -19,38 +49,259 @@ import java.util.UUID;
  * Handles only the mapping of a REST invocation to a Java method invocation;
  * all transactional business logic is encapsulated in a {@code Boundary} this resource class delegates to.
  * </p>
+ * <p>
+ * Besides JSON, all entities may be exchanged as CBOR by sending or accepting {@code application/cbor};
+ * streamed task lists are always sent as JSON.
+ * </p>
  */
 @RequestScoped
 @Path("v1/tasks")
-@Consumes(MediaType.APPLICATION_JSON)
-@Produces(MediaType.APPLICATION_JSON)
+@Consumes({MediaType.APPLICATION_JSON, CborMessageBodyProvider.APPLICATION_CBOR})
+@Produces({MediaType.APPLICATION_JSON, CborMessageBodyProvider.APPLICATION_CBOR})
 @RolesAllowed("CLOUDTRAIN_USER")
 public class TasksResource {
 
+    /**
+     * Media type of JSON Merge Patch documents (RFC 7396).
+     */
+    public static final String MEDIA_TYPE_MERGE_PATCH_JSON = "application/merge-patch+json";
+
     @Context
     private UriInfo uriInfo;
 
     @Context
     private HttpHeaders httpHeaders;
 
+    @Context
+    private Providers providers;
+
     @Inject
     private TaskManagement boundary;
 
+    @Resource
+    private UserTransaction transaction;
+
+    @Inject
+    private TaskChangeFeed changeFeed;
+
+    @Inject
+    @ConfigProperty(name = "cloudtrain.tasks.page.defaultSize", defaultValue = "100")
+    int defaultPageSize;
+
+    @Inject
+    @ConfigProperty(name = "cloudtrain.tasks.page.maxSize", defaultValue = "1000")
+    int maxPageSize;
+
+    @Inject
+    private TaskStatisticsCache statisticsCache;
+
+    /**
+     * Returns tasks ordered by ID.
+     * <p>
+     * By default, tasks are returned page by page using keyset pagination: a response containing a full page
+     * carries a {@code Link} header with relation {@code next} pointing to the next page.
+     * If {@code stream} is {@code true}, all remaining tasks are written to the response while they are read
+     * from the database.
+     * </p>
+     * <p>
+     * Pages carry a strong entity tag; requests with a matching {@code If-None-Match} header are answered with
+     * status code 304 based on the task versions only.
+     * </p>
+     * <p>
+     * If {@code modifiedSince} or {@code syncToken} is given, a {@link TaskDelta} is returned instead which contains
+     * all tasks modified and the IDs of all tasks removed since then; status code 410 indicates that the client has to
+     * fetch all tasks since removals are no longer retained. Clients start with {@code modifiedSince} and pass the
+     * sync token of each delta to the next synchronization.
+     * </p>
+     * <p>
+     * If {@code fields} is given, each page contains only the given comma-separated attributes of each task
+     * plus its ID; only these attributes are read from the database.
+     * </p>
+     *
+     * @param after         ID of the last task of the previous page
+     * @param limit         maximum number of tasks per page
+     * @param stream        stream all remaining tasks instead of returning a single page
+     * @param modifiedSince return only changes since the given date/time
+     * @param syncToken     return only changes since the given sync token returned by the previous synchronization
+     * @param fields        comma-separated names of the attributes to return
+     */
+    @GET
+    public Response getAllTasks(@QueryParam("after") UUID after, @QueryParam("limit") Integer limit, @QueryParam("stream") boolean stream,
+                            @QueryParam("modifiedSince") LocalDateTime modifiedSince, @QueryParam("syncToken") String syncToken,
+                            @QueryParam("fields") String fields) {
+        if (fields != null) {
+            if (stream || modifiedSince != null || syncToken != null) {
+                throw new BadRequestException("query parameter [fields] is only supported when fetching pages of tasks");
+            }
+            Set<String> selectedFields = toFields(fields);
+            int pageSize = toPageSize(limit);
+            List<Map<String, Object>> page = this.boundary.getTaskProjections(selectedFields, after, pageSize);
+            Response.ResponseBuilder builder = Response.ok(page);
+            if (page.size() == pageSize) {
+                URI next = RouterAwareUriBuilderFactory.from(uriInfo, httpHeaders)
+                        .replaceQueryParam("after", page.get(page.size() - 1).get(TaskFields.ID))
+                        .replaceQueryParam("limit", pageSize)
+                        .build();
+                builder.links(Link.fromUri(next).rel("next").build());
+            }
+            return builder.build();
+        }
+        if (modifiedSince != null || syncToken != null) {
+            TaskSyncToken since = syncToken != null ? toSyncToken(syncToken) : TaskSyncToken.since(modifiedSince);
+            return Response.ok(this.boundary.getTaskDelta(since, toPageSize(limit))).build();
+        }
+        if (stream) {
+            return Response.ok(streamTasks(after), MediaType.APPLICATION_JSON_TYPE).build();
+        }
+        Response result;
+        int pageSize = toPageSize(limit);
+        String ifNoneMatch = this.httpHeaders.getHeaderString(HttpHeaders.IF_NONE_MATCH);
+        EntityTag tag = ifNoneMatch != null ? EntityTags.ofVersions(this.boundary.getTaskVersions(after, pageSize)) : null;
+        if (tag != null && EntityTags.matches(ifNoneMatch, tag)) {
+            result = Response.notModified(tag).build();
+        } else {
+            result = toPageResponse(this.boundary.getTasks(after, pageSize), pageSize, ifNoneMatch);
+        }
+        return result;
+    }
+
+    /**
+     * Returns tasks matching all given filter criteria ordered by ID using keyset pagination.
+     * <p>
+     * Query parameters {@code lifeCycleState}, {@code priority} and {@code category} may be repeated
+     * to match any of the given values.
+     * </p>
+     */
     @GET
-    public Response getAllTasks() {
+    @Path("query")
+    public Response queryTasks(@QueryParam("lifeCycleState") Set<TaskLifeCycleState> lifeCycleStates,
+                           @QueryParam("priority") Set<TaskPriority> priorities,
+                           @QueryParam("category") Set<TaskCategory> categories,
+                           @QueryParam("responsibleUserId") String responsibleUserId,
+                           @QueryParam("affectedProjectId") String affectedProjectId,
+                           @QueryParam("dueAfter") LocalDateTime dueAfter,
+                           @QueryParam("dueBefore") LocalDateTime dueBefore,
+                           @QueryParam("after") UUID after,
+                           @QueryParam("limit") Integer limit) {
+        TaskFilter filter = new TaskFilter();
+        filter.setLifeCycleStates(lifeCycleStates);
+        filter.setPriorities(priorities);
+        filter.setCategories(categories);
+        filter.setResponsibleUserId(responsibleUserId);
+        filter.setAffectedProjectId(affectedProjectId);
+        filter.setDueAfter(dueAfter);
+        filter.setDueBefore(dueBefore);
+        int pageSize = toPageSize(limit);
+        String ifNoneMatch = this.httpHeaders.getHeaderString(HttpHeaders.IF_NONE_MATCH);
+        return toPageResponse(this.boundary.queryTasks(filter, after, pageSize), pageSize, ifNoneMatch);
+    }
+
+    /**
+     * Returns tasks whose subject or description match the given search terms, best matches first.
+     * <p>
+     * Results are paginated by offset: a response containing a full page carries a {@code Link} header
+     * with relation {@code next} pointing to the next page.
+     * </p>
+     *
+     * @param searchTerms search terms
+     * @param offset      number of matching tasks to skip
+     * @param limit       maximum number of tasks per page
+     */
+    @GET
+    @Path("search")
+    public Response searchTasks(@QueryParam("q") String searchTerms, @QueryParam("offset") @DefaultValue("0") int offset,
+                                @QueryParam("limit") Integer limit) {
+        if (searchTerms == null || searchTerms.isBlank()) {
+            throw new BadRequestException("query parameter [q] must not be blank");
+        }
+        int pageSize = toPageSize(limit);
+        int first = Math.max(0, offset);
+        List<Task> page = this.boundary.searchTasks(searchTerms, first, pageSize);
+        Response.ResponseBuilder builder = Response.ok(toEntity(page));
+        if (page.size() == pageSize) {
+            URI next = RouterAwareUriBuilderFactory.from(uriInfo, httpHeaders)
+                    .replaceQueryParam("offset", first + pageSize)
+                    .replaceQueryParam("limit", pageSize)
+                    .build();
+            builder.links(Link.fromUri(next).rel("next").build());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns counts of tasks per life-cycle state, priority and category as well as the number of overdue tasks
+     * and the average completion rate of all tasks.
+     * <p>
+     * Clients may cache the statistics as long as the server caches them.
+     * </p>
+     */
+    @GET
+    @Path("statistics")
+    public Response getTaskStatistics() {
         Response result;
-        List<Task> found = this.boundary.getAllTasks();
-        result = Response.ok(found).build();
+        TaskStatistics statistics = this.boundary.getTaskStatistics();
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setMaxAge((int) this.statisticsCache.getTimeToLive().toSeconds());
+        result = Response.ok(statistics).cacheControl(cacheControl).build();
         return result;
     }
 
+    /**
+     * Streams all subsequent creations, modifications and removals of tasks as Server-Sent Events.
+     * <p>
+     * Each event carries the ID of the change; clients reconnecting with a {@code Last-Event-ID} header
+     * receive all changes they missed first, as long as these changes are still retained.
+     * </p>
+     */
+    @GET
+    @Path("changes")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    public void streamTaskChanges(@HeaderParam(HttpHeaders.LAST_EVENT_ID_HEADER) String lastEventId,
+                                  @Context SseEventSink eventSink, @Context Sse sse) {
+        long after = this.boundary.getLatestTaskChangeId();
+        if (lastEventId != null) {
+            try {
+                after = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException ex) {
+                throw new BadRequestException(String.format("invalid %s [%s]", HttpHeaders.LAST_EVENT_ID_HEADER, lastEventId), ex);
+            }
+        }
+        this.changeFeed.subscribe(eventSink, sse, after);
+    }
+
+    /**
+     * Returns the task with the given ID.
+     * <p>
+     * The response carries a strong entity tag derived from ID and version of the task; requests with a matching
+     * {@code If-None-Match} header are answered with status code 304 without loading the task.
+     * </p>
+     * <p>
+     * If {@code fields} is given, only the given comma-separated attributes of the task plus its ID are returned.
+     * </p>
+     */
     @GET
     @Path("{taskId}")
-    public Response getTask(@PathParam("taskId") UUID taskId) {
+    public Response getTask(@PathParam("taskId") UUID taskId, @QueryParam("fields") String fields) {
+        if (fields != null) {
+            Map<String, Object> projection = this.boundary.getTaskProjection(taskId, toFields(fields));
+            return projection != null ? Response.ok(projection).build() : Response.status(Response.Status.NOT_FOUND).build();
+        }
+        String ifNoneMatch = this.httpHeaders.getHeaderString(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            TaskVersion version = this.boundary.getTaskVersion(taskId);
+            if (version == null) {
+                return Response.status(Response.Status.NOT_FOUND).build();
+            }
+            EntityTag tag = EntityTags.of(taskId, version.version());
+            if (EntityTags.matches(ifNoneMatch, tag)) {
+                return Response.notModified(tag).build();
+            }
+        }
         Response result;
         Task found = this.boundary.getTaskById(taskId);
         if (found != null) {
-            result = Response.ok(found).build();
+            result = Response.ok(found).tag(EntityTags.of(found)).build();
         } else {
             result = Response.status(Response.Status.NOT_FOUND).build();
         }
@@ -66,12 +317,73 @@ public class TasksResource {
         return result;
     }
 
+    /**
+     * Replaces the task with the given ID.
+     * <p>
+     * If an {@code If-Match} header is present, the task is only modified if its current version matches the
+     * given entity tag; otherwise status code 412 is returned.
+     * </p>
+     */
     @PUT
     @Path("{taskId}")
     public Response modifyTask(@PathParam("taskId") UUID taskId, Task task) {
+        Integer expectedVersion = EntityTags.parseVersion(this.httpHeaders.getHeaderString(HttpHeaders.IF_MATCH), taskId);
+        if (task.getId() == null) {
+            task.setId(taskId);
+        } else if (!task.getId().equals(taskId)) {
+            throw new BadRequestException(String.format("task ID [%s] does not match task ID [%s] of resource path", task.getId(), taskId));
+        }
         Response result;
-        this.boundary.modifyTask(task);
-        result = Response.noContent().build();
+        Task modified = this.boundary.modifyTask(task, expectedVersion);
+        result = Response.noContent().tag(EntityTags.of(modified)).build();
+        return result;
+    }
+
+    /**
+     * Modifies only the attributes of the task with the given ID which are contained in the given
+     * JSON Merge Patch document (RFC 7396).
+     * <p>
+     * If an {@code If-Match} header is present, the task is only modified if its current version matches the
+     * given entity tag; otherwise status code 412 is returned.
+     * </p>
+     * <p>
+     * Patch documents containing server-managed attributes like {@code id}, {@code version} or the audit
+     * attributes are rejected with status code 400; the patch is applied to the current state of the task
+     * read from the database.
+     * </p>
+     */
+    @PATCH
+    @Path("{taskId}")
+    @Consumes(MEDIA_TYPE_MERGE_PATCH_JSON)
+    public Response patchTask(@PathParam("taskId") UUID taskId, InputStream patchDocument) {
+        Integer expectedVersion = EntityTags.parseVersion(this.httpHeaders.getHeaderString(HttpHeaders.IF_MATCH), taskId);
+        JsonValue patch;
+        try (JsonReader reader = Json.createReader(patchDocument)) {
+            patch = reader.readValue();
+        } catch (JsonException ex) {
+            throw new BadRequestException("invalid JSON merge patch document", ex);
+        }
+        if (patch.getValueType() != JsonValue.ValueType.OBJECT) {
+            throw new BadRequestException("JSON merge patch document must be an object");
+        }
+        for (String field : patch.asJsonObject().keySet()) {
+            if (TaskFields.SERVER_MANAGED.contains(field)) {
+                throw new BadRequestException(String.format("task field [%s] must not be modified", field));
+            }
+        }
+        Response result;
+        Task current = this.boundary.getCurrentTaskById(taskId);
+        if (current == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+        Jsonb jsonb = getJsonb();
+        JsonValue patched;
+        try (JsonReader reader = Json.createReader(new StringReader(jsonb.toJson(current)))) {
+            patched = Json.createMergePatch(patch).apply(reader.readValue());
+        }
+        Task task = jsonb.fromJson(patched.toString(), Task.class);
+        Task modified = this.boundary.modifyTask(task, expectedVersion != null ? expectedVersion : current.getVersion());
+        result = Response.noContent().tag(EntityTags.of(modified)).build();
         return result;
     }
 
@@ -83,4 +395,116 @@ public class TasksResource {
         result = Response.noContent().build();
         return result;
     }
+
+    private static Set<String> toFields(String fields) {
+        try {
+            return TaskFields.parse(fields);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException(ex.getMessage(), ex);
+        }
+    }
+
+    private static TaskSyncToken toSyncToken(String syncToken) {
+        try {
+            return TaskSyncToken.parse(syncToken);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException(ex.getMessage(), ex);
+        }
+    }
+
+    private int toPageSize(Integer limit) {
+        return limit != null ? Math.max(1, Math.min(limit, this.maxPageSize)) : this.defaultPageSize;
+    }
+
+    /**
+     * Wraps the given page of tasks into a response with a link to the next page if the given page is full.
+     * <p>
+     * Returns status code 304 if the client's copy of the given page is still up-to-date.
+     * </p>
+     */
+    private Response toPageResponse(List<Task> page, int pageSize, String ifNoneMatch) {
+        EntityTag tag = EntityTags.ofTasks(page);
+        if (EntityTags.matches(ifNoneMatch, tag)) {
+            return Response.notModified(tag).build();
+        }
+        Response.ResponseBuilder builder = Response.ok(toEntity(page)).tag(tag);
+        if (page.size() == pageSize) {
+            URI next = RouterAwareUriBuilderFactory.from(uriInfo, httpHeaders)
+                    .replaceQueryParam("after", page.get(page.size() - 1).getId())
+                    .replaceQueryParam("limit", pageSize)
+                    .build();
+            builder.links(Link.fromUri(next).rel("next").build());
+        }
+        return builder.build();
+    }
+
+    private Jsonb getJsonb() {
+        return this.providers.getContextResolver(Jsonb.class, MediaType.APPLICATION_JSON_TYPE).getContext(Task.class);
+    }
+
+    /**
+     * Keeps the generic type of the given tasks, so they are written by the {@link TaskCollectionMessageBodyWriter}.
+     */
+    private static GenericEntity<List<Task>> toEntity(List<Task> tasks) {
+        return new GenericEntity<>(tasks) {
+        };
+    }
+
+    /**
+     * Opens a cursor over all tasks after the given ID and returns an output writing these tasks.
+     * <p>
+     * The cursor is opened within a transaction started here, so missing permissions or failing queries are
+     * reported before the response is committed; the transaction ends as soon as all tasks are written.
+     * </p>
+     */
+    private StreamingOutput streamTasks(UUID after) {
+        EntityCursor<Task> cursor;
+        beginTransaction();
+        try {
+            cursor = this.boundary.openTaskCursor(after);
+        } catch (RuntimeException ex) {
+            endTransaction(false);
+            throw ex;
+        }
+        return output -> {
+            boolean written = false;
+            try (cursor) {
+                JsonGenerator generator = TaskJsonGenerator.createGenerator(output);
+                try {
+                    generator.writeStartArray();
+                    cursor.forEachRemaining(task -> TaskJsonGenerator.write(generator, task));
+                    generator.writeEnd();
+                } finally {
+                    generator.close();
+                }
+                written = true;
+            } finally {
+                endTransaction(written);
+            }
+        };
+    }
+
+    private void beginTransaction() {
+        try {
+            this.transaction.begin();
+        } catch (jakarta.transaction.NotSupportedException | SystemException ex) {
+            throw new IllegalStateException("failed to begin transaction", ex);
+        }
+    }
+
+    /**
+     * Commits the current transaction if the given work succeeded and it has not been marked for rollback;
+     * otherwise rolls it back.
+     */
+    private void endTransaction(boolean succeeded) {
+        try {
+            if (succeeded && this.transaction.getStatus() == Status.STATUS_ACTIVE) {
+                this.transaction.commit();
+            } else {
+                this.transaction.rollback();
+            }
+        } catch (Exception ex) {
+            throw new IllegalStateException("failed to end transaction", ex);
+        }
+    }
 }
@@ -0,0 +1,119 @@
+package group.msg.at.cloud.cloudtrain.adapter.rest;
+
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ContextService;
+import jakarta.enterprise.context.control.RequestContextController;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.FilterConfig;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.ws.rs.ApplicationPath;
+import jakarta.ws.rs.core.UriBuilder;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Processes REST requests on virtual threads instead of the HTTP worker threads of Payara.
+ * <p>
+ * Only active if {@code cloudtrain.concurrency.virtualThreads.enabled} is {@code true}; otherwise requests simply
+ * pass this filter, so resources keep their synchronous signatures and there is no asynchronous processing overhead
+ * by default. If active, each request is put into asynchronous mode and the remaining filter chain including the
+ * JAX-RS runtime runs on a virtual thread; this frees the worker threads while requests are blocked by downstream
+ * calls like the REST client fetching granted permissions. Each virtual thread inherits the security and naming
+ * context of the worker thread via the container's {@link ContextService} and runs within its own CDI request context.
+ * </p>
+ * <p>
+ * Server-Sent Events of {@link TasksResource#streamTaskChanges} are left on the worker thread, since the JAX-RS
+ * runtime puts these requests into asynchronous mode itself; their path is derived from the resource.
+ * </p>
+ * <p>
+ * Jakarta Concurrency 3.0 of Jakarta EE 10 offers no managed executor backed by virtual threads, so a virtual
+ * thread per request is started by this filter and the container context is propagated via {@link ContextService}.
+ * </p>
+ */
+@WebFilter(urlPatterns = "/api/*", asyncSupported = true)
+public class VirtualThreadFilter implements Filter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadFilter.class);
+
+    @Inject
+    @ConfigProperty(name = "cloudtrain.concurrency.virtualThreads.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @Resource
+    ContextService contextService;
+
+    @Inject
+    Instance<RequestContextController> requestContextControllers;
+
+    private ExecutorService executor;
+
+    /**
+     * Path of the Server-Sent Events endpoint relative to the context root.
+     */
+    private String taskChangesPath;
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        if (enabled) {
+            taskChangesPath = "/" + JaxRsConfiguration.class.getAnnotation(ApplicationPath.class).value() + "/"
+                    + UriBuilder.fromResource(TasksResource.class).path(TasksResource.class, "streamTaskChanges").toTemplate();
+            executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("cnj-virtual-", 0).factory());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        if (executor == null || request.getDispatcherType() != DispatcherType.REQUEST || isServerSentEvents((HttpServletRequest) request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(0);
+        executor.execute(contextService.contextualRunnable(() -> process(asyncContext, chain)));
+    }
+
+    private void process(AsyncContext asyncContext, FilterChain chain) {
+        RequestContextController requestContextController = requestContextControllers.get();
+        requestContextController.activate();
+        try {
+            chain.doFilter(asyncContext.getRequest(), asyncContext.getResponse());
+        } catch (IOException | ServletException | RuntimeException ex) {
+            LOGGER.error("failed to process request on virtual thread", ex);
+            HttpServletResponse response = (HttpServletResponse) asyncContext.getResponse();
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
+        } finally {
+            requestContextController.deactivate();
+            requestContextControllers.destroy(requestContextController);
+            asyncContext.complete();
+        }
+    }
+
+    private boolean isServerSentEvents(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + taskChangesPath);
+    }
+}
@@ -1,16 +1,18 @@
 package group.msg.at.cloud.cloudtrain.adapter.rest.grantedpermissions;
 
 import group.msg.at.cloud.common.observability.rest.trace.RestTraceClientRequestFilter;
-import group.msg.at.cloud.common.rest.jwt.JwtPropagatingClientRequestFilter;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import org.eclipse.microprofile.rest.client.annotation.RegisterProvider;
 import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
 
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Rest client for the {@code GrantedPermissions} service provided by an external application.
@@ -23,15 +25,30 @@ import java.util.List;
  * specific property namespace {@code cloudtrain.service.grantedpermissions} to avoid
  * excessively long property names based on the fully qualified type name of the REST client interface.
  * </p>
+ * <p>
+ * The bearer token of the current user is passed explicitly as {@code Authorization} header, since asynchronous
+ * calls are sent from threads without access to the token of the current request.
+ * </p>
  */
 @RegisterRestClient(configKey = "cloudtrain.services.grantedpermissions")
-@RegisterProvider(JwtPropagatingClientRequestFilter.class)
 @RegisterProvider(RestTraceClientRequestFilter.class)
+@RegisterProvider(GrantedPermissionsResponseExceptionMapper.class)
 @Path("api/v1/grantedPermissions")
 public interface GrantedPermissionsClient {
 
     @GET
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    List<GrantedPermission> getGrantedPermissionsByCurrentUser();
+    List<GrantedPermission> getGrantedPermissionsByCurrentUser(@HeaderParam(HttpHeaders.AUTHORIZATION) String authorization);
+
+    /**
+     * Asynchronous variant of {@link #getGrantedPermissionsByCurrentUser(String)} which returns immediately.
+     * <p>
+     * The returned stage completes exceptionally if the remote call fails.
+     * </p>
+     */
+    @GET
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    CompletionStage<List<GrantedPermission>> getGrantedPermissionsByCurrentUserAsync(@HeaderParam(HttpHeaders.AUTHORIZATION) String authorization);
 }
@@ -0,0 +1,34 @@
+package group.msg.at.cloud.cloudtrain.adapter.rest.grantedpermissions;
+
+import jakarta.ws.rs.ForbiddenException;
+import jakarta.ws.rs.NotAuthorizedException;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.rest.client.ext.ResponseExceptionMapper;
+
+/**
+ * Maps responses of the {@code GrantedPermissions} service rejecting the current user to specific exceptions.
+ * <p>
+ * Responses with status 401, 403 or 404 are mapped to {@link NotAuthorizedException}, {@link ForbiddenException}
+ * or {@link NotFoundException}, so callers can tell rejected users from failures of the remote service.
+ * All other error responses are left to the default mapper of the REST client.
+ * </p>
+ */
+public class GrantedPermissionsResponseExceptionMapper implements ResponseExceptionMapper<RuntimeException> {
+
+    @Override
+    public boolean handles(int status, MultivaluedMap<String, Object> headers) {
+        return status == 401 || status == 403 || status == 404;
+    }
+
+    @Override
+    public RuntimeException toThrowable(Response response) {
+        return switch (response.getStatus()) {
+            case 401 -> new NotAuthorizedException(response);
+            case 403 -> new ForbiddenException(response);
+            case 404 -> new NotFoundException(response);
+            default -> null;
+        };
+    }
+}
@@ -1,30 +1,112 @@
 package group.msg.at.cloud.cloudtrain.core.boundary;
 
+import group.msg.at.cloud.cloudtrain.adapter.persistence.jpa.repository.EntityCursor;
 import group.msg.at.cloud.cloudtrain.adapter.persistence.jpa.repository.GenericRepository;
+import group.msg.at.cloud.cloudtrain.core.control.BoundaryTimingInterceptor;
+import group.msg.at.cloud.cloudtrain.core.control.LayerTimings;
+import group.msg.at.cloud.cloudtrain.core.control.TaskBatchProcessor;
+import group.msg.at.cloud.cloudtrain.core.control.TaskStatisticsCache;
 import group.msg.at.cloud.cloudtrain.core.control.UserPermissionVerifier;
 import group.msg.at.cloud.cloudtrain.core.entity.Task;
+import group.msg.at.cloud.cloudtrain.core.entity.TaskBatchItemResult;
+import group.msg.at.cloud.cloudtrain.core.entity.TaskBatchItemStatus;
+import group.msg.at.cloud.cloudtrain.core.entity.TaskChange;
+import group.msg.at.cloud.cloudtrain.core.entity.TaskDelta;
+import group.msg.at.cloud.cloudtrain.core.entity.TaskFilter;
+import group.msg.at.cloud.cloudtrain.core.entity.TaskStatistics;
+import group.msg.at.cloud.cloudtrain.core.entity.TaskStatisticsGroup;
+import group.msg.at.cloud.cloudtrain.core.entity.TaskSyncToken;
+import group.msg.at.cloud.cloudtrain.core.entity.TaskVersion;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
 import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptors;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Simple {@code Boundary} that manages {@code Task} entities.
+ * <p>
+ * All calls are timed per method, split into permission and repository time, by {@link BoundaryTimingInterceptor}.
+ * </p>
  */
 @Stateless
 @RolesAllowed("CLOUDTRAIN_USER")
+@Interceptors(BoundaryTimingInterceptor.class)
 public class TaskManagement {
 
+    /**
+     * Maximum number of items accepted by batch operations.
+     */
+    public static final int MAX_BATCH_SIZE = 10000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskManagement.class);
+
     @Inject
     private GenericRepository repository;
 
     @Inject
     private UserPermissionVerifier verifier;
 
+    @Inject
+    private TaskBatchProcessor batchProcessor;
+
+    @Inject
+    private Validator validator;
+
+    @Inject
+    private TaskStatisticsCache statisticsCache;
+
+    @Inject
+    @ConfigProperty(name = "cloudtrain.tasks.batch.chunkSize", defaultValue = "500")
+    int batchChunkSize;
+
+    @Inject
+    @ConfigProperty(name = "cloudtrain.tasks.changes.retention", defaultValue = "P7D")
+    Duration changeRetention;
+
+    @Inject
+    @ConfigProperty(name = "cloudtrain.tasks.sync.overlap", defaultValue = "PT5S")
+    Duration syncOverlap;
+
+    @Inject
+    @ConfigProperty(name = "cloudtrain.tasks.search.maxCandidates", defaultValue = "10000")
+    int searchMaxCandidates;
+
     @NotNull
     public UUID addTask(@NotNull @Valid Task newTask) {
         verifier.requirePermission("TASK_CREATE");
@@ -33,14 +115,62 @@ public class TaskManagement {
         return newTask.getId();
     }
 
-    public void modifyTask(@NotNull @Valid Task modifiedTask) {
+    /**
+     * Modifies the given task.
+     *
+     * @param modifiedTask    modified task with ID and the version the modification is based on
+     * @param expectedVersion version the modification is based on; overrides the version of the given task if not {@code null}
+     * @return modified task with its new version
+     * @throws TaskVersionConflictException if the task has been modified concurrently
+     */
+    public Task modifyTask(@NotNull @Valid Task modifiedTask, Integer expectedVersion) {
         verifier.requirePermission("TASK_UPDATE");
-        this.repository.setEntity(modifiedTask);
+        if (expectedVersion != null) {
+            modifiedTask.setVersion(expectedVersion);
+        }
+        try {
+            Task result = this.repository.mergeEntity(modifiedTask);
+            this.repository.flush();
+            return result;
+        } catch (OptimisticLockException ex) {
+            throw new TaskVersionConflictException(modifiedTask.getId(), modifiedTask.getVersion(), ex);
+        }
     }
 
     public Task getTaskById(@NotNull UUID taskId) {
-        verifier.requirePermission("TASK_READ");
-        return this.repository.getEntityById(Task.class, taskId);
+        return readPermitted("TASK_READ", () -> this.repository.findEntityById(Task.class, taskId));
+    }
+
+    /**
+     * Returns the task with the given ID read from the database instead of the shared cache, so modifications
+     * based on the returned task are not rejected due to stale cached versions.
+     *
+     * @return task or {@code null} if no task with the given ID exists
+     */
+    public Task getCurrentTaskById(@NotNull UUID taskId) {
+        return readPermitted("TASK_READ", () -> this.repository.findCurrentEntityById(Task.class, taskId));
+    }
+
+    /**
+     * Returns the current version of the task with the given ID without loading the task.
+     *
+     * @return version or {@code null} if no task with the given ID exists
+     */
+    public TaskVersion getTaskVersion(@NotNull UUID taskId) {
+        return readPermitted("TASK_READ",
+                () -> this.repository.queryValues(TaskVersion.class, Task.QUERY_VERSION_BY_ID, Map.of("id", taskId)).stream().findFirst().orElse(null));
+    }
+
+    /**
+     * Returns the versions of the tasks {@link #getTasks(UUID, int)} would return without loading the tasks.
+     */
+    public List<TaskVersion> getTaskVersions(UUID after, @Min(1) int limit) {
+        return readPermitted("TASK_READ", () -> {
+            if (after == null) {
+                return this.repository.queryValues(TaskVersion.class, Task.QUERY_VERSIONS, null, limit);
+            }
+            return this.repository.queryValues(TaskVersion.class, Task.QUERY_VERSIONS_AFTER, Map.of("after", after), limit);
+        });
     }
 
     public void removeTask(@NotNull UUID taskId) {
@@ -48,8 +178,400 @@ public class TaskManagement {
         this.repository.removeEntityById(Task.class, taskId);
     }
 
-    public List<Task> getAllTasks() {
+    /**
+     * Creates all given tasks with a single permission check in chunked transactions.
+     *
+     * @return per-item results in the order of the given tasks
+     */
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public List<TaskBatchItemResult> addTasks(@NotNull @Size(max = MAX_BATCH_SIZE) List<Task> newTasks) {
+        verifier.requirePermission("TASK_CREATE");
+        TaskBatchItemResult[] results = new TaskBatchItemResult[newTasks.size()];
+        List<Integer> pending = new ArrayList<>(newTasks.size());
+        for (int i = 0; i < newTasks.size(); i++) {
+            Task current = newTasks.get(i);
+            if (current == null || current.getId() != null) {
+                results[i] = new TaskBatchItemResult(i, current != null ? current.getId() : null, TaskBatchItemStatus.INVALID, "new task must not be null and must not have an ID");
+            } else if (isValid(i, current, results)) {
+                current.setId(UUID.randomUUID());
+                pending.add(i);
+            }
+        }
+        processInChunks(newTasks, pending, results, this.batchProcessor::addTasks, Task::getId, TaskBatchItemStatus.CREATED);
+        return List.of(results);
+    }
+
+    /**
+     * Modifies all given tasks with a single permission check in chunked transactions.
+     *
+     * @return per-item results in the order of the given tasks
+     */
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public List<TaskBatchItemResult> modifyTasks(@NotNull @Size(max = MAX_BATCH_SIZE) List<Task> modifiedTasks) {
+        verifier.requirePermission("TASK_UPDATE");
+        TaskBatchItemResult[] results = new TaskBatchItemResult[modifiedTasks.size()];
+        List<Integer> pending = new ArrayList<>(modifiedTasks.size());
+        for (int i = 0; i < modifiedTasks.size(); i++) {
+            Task current = modifiedTasks.get(i);
+            if (current == null || current.getId() == null) {
+                results[i] = new TaskBatchItemResult(i, null, TaskBatchItemStatus.INVALID, "modified task must not be null and must have an ID");
+            } else if (isValid(i, current, results)) {
+                pending.add(i);
+            }
+        }
+        pending = retainExisting(modifiedTasks, pending, results, Task::getId);
+        processInChunks(modifiedTasks, pending, results, this.batchProcessor::modifyTasks, Task::getId, TaskBatchItemStatus.MODIFIED);
+        return List.of(results);
+    }
+
+    /**
+     * Removes all tasks with the given IDs with a single permission check in chunked transactions.
+     *
+     * @return per-item results in the order of the given task IDs
+     */
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public List<TaskBatchItemResult> removeTasks(@NotNull @Size(max = MAX_BATCH_SIZE) List<UUID> taskIds) {
+        verifier.requirePermission("TASK_DELETE");
+        TaskBatchItemResult[] results = new TaskBatchItemResult[taskIds.size()];
+        List<Integer> pending = new ArrayList<>(taskIds.size());
+        for (int i = 0; i < taskIds.size(); i++) {
+            if (taskIds.get(i) == null) {
+                results[i] = new TaskBatchItemResult(i, null, TaskBatchItemStatus.INVALID, "task ID must not be null");
+            } else {
+                pending.add(i);
+            }
+        }
+        pending = retainExisting(taskIds, pending, results, Function.identity());
+        processInChunks(taskIds, pending, results, this.batchProcessor::removeTasks, Function.identity(), TaskBatchItemStatus.REMOVED);
+        return List.of(results);
+    }
+
+    /**
+     * Returns a page of tasks ordered by ID using keyset pagination.
+     *
+     * @param after ID of the last task of the previous page; {@code null} to start with the first page
+     * @param limit maximum number of tasks to return
+     */
+    public List<Task> getTasks(UUID after, @Min(1) int limit) {
+        return readPermitted("TASK_READ", () -> {
+            if (after == null) {
+                return this.repository.queryEntities(Task.class, Task.QUERY_ALL, null, limit);
+            }
+            return this.repository.queryEntities(Task.class, Task.QUERY_ALL_AFTER, Map.of("after", after), limit);
+        });
+    }
+
+    /**
+     * Returns a page of projections of tasks ordered by ID using keyset pagination; each projection only contains
+     * the given attributes which are read from the database.
+     *
+     * @param fields attribute names as defined by {@link group.msg.at.cloud.cloudtrain.core.entity.TaskFields}
+     * @param after  ID of the last task of the previous page; {@code null} to start with the first page
+     * @param limit  maximum number of tasks to return
+     * @return attribute values by attribute name in the order of the given attribute names
+     */
+    public List<Map<String, Object>> getTaskProjections(@NotNull Set<String> fields, UUID after, @Min(1) int limit) {
         verifier.requirePermission("TASK_READ");
-        return this.repository.queryEntities(Task.class, Task.QUERY_ALL, null);
+        return queryProjections(fields, after != null ? (cb, task) -> cb.greaterThan(task.<UUID>get("id"), after) : null, limit);
+    }
+
+    /**
+     * Returns a projection of the task with the given ID containing only the given attributes.
+     *
+     * @return attribute values by attribute name or {@code null} if no task with the given ID exists
+     */
+    public Map<String, Object> getTaskProjection(@NotNull UUID taskId, @NotNull Set<String> fields) {
+        verifier.requirePermission("TASK_READ");
+        return queryProjections(fields, (cb, task) -> cb.equal(task.get("id"), taskId), 1).stream().findFirst().orElse(null);
+    }
+
+    private List<Map<String, Object>> queryProjections(Set<String> fields, BiFunction<CriteriaBuilder, Root<Task>, Predicate> restriction, int limit) {
+        CriteriaBuilder cb = this.repository.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> task = query.from(Task.class);
+        query.multiselect(fields.stream().map(f -> task.get(f).alias(f)).collect(Collectors.toList()));
+        if (restriction != null) {
+            query.where(restriction.apply(cb, task));
+        }
+        query.orderBy(cb.asc(task.get("id")));
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Tuple tuple : this.repository.queryTuples(query, limit)) {
+            Map<String, Object> projection = new LinkedHashMap<>();
+            for (TupleElement<?> element : tuple.getElements()) {
+                projection.put(element.getAlias(), tuple.get(element));
+            }
+            result.add(projection);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a page of tasks matching the given filter ordered by ID using keyset pagination.
+     *
+     * @param filter filter criteria
+     * @param after  ID of the last task of the previous page; {@code null} to start with the first page
+     * @param limit  maximum number of tasks to return
+     */
+    public List<Task> queryTasks(@NotNull TaskFilter filter, UUID after, @Min(1) int limit) {
+        CompletableFuture<Void> permissionCheck = verifier.requirePermissionAsync("TASK_READ").toCompletableFuture();
+        CriteriaBuilder cb = this.repository.getCriteriaBuilder();
+        CriteriaQuery<Task> query = cb.createQuery(Task.class);
+        Root<Task> task = query.from(Task.class);
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getLifeCycleStates() != null && !filter.getLifeCycleStates().isEmpty()) {
+            predicates.add(task.get("lifeCycleState").in(filter.getLifeCycleStates()));
+        }
+        if (filter.getPriorities() != null && !filter.getPriorities().isEmpty()) {
+            predicates.add(task.get("priority").in(filter.getPriorities()));
+        }
+        if (filter.getCategories() != null && !filter.getCategories().isEmpty()) {
+            predicates.add(task.get("category").in(filter.getCategories()));
+        }
+        if (filter.getResponsibleUserId() != null) {
+            predicates.add(cb.equal(task.get("responsibleUserId"), filter.getResponsibleUserId()));
+        }
+        if (filter.getAffectedProjectId() != null) {
+            predicates.add(cb.equal(task.get("affectedProjectId"), filter.getAffectedProjectId()));
+        }
+        if (filter.getDueAfter() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(task.<LocalDateTime>get("dueDate"), filter.getDueAfter()));
+        }
+        if (filter.getDueBefore() != null) {
+            predicates.add(cb.lessThan(task.<LocalDateTime>get("dueDate"), filter.getDueBefore()));
+        }
+        if (after != null) {
+            predicates.add(cb.greaterThan(task.<UUID>get("id"), after));
+        }
+        query.select(task).where(predicates.toArray(new Predicate[0])).orderBy(cb.asc(task.get("id")));
+        // filtered queries may be expensive, so they only run once the permission has been granted
+        awaitPermission(permissionCheck);
+        return this.repository.queryEntities(query, limit);
+    }
+
+    /**
+     * Returns a page of tasks whose subject or description match the given search terms ordered by descending rank.
+     * <p>
+     * Search terms support the web search syntax of PostgreSQL: quoted phrases, {@code or} and {@code -} to exclude terms.
+     * </p>
+     * <p>
+     * At most {@code cloudtrain.tasks.search.maxCandidates} matching tasks are returned; if more tasks match,
+     * only the best ranked of them are returned, ties broken by ID, and pages beyond this limit are empty.
+     * </p>
+     *
+     * @param searchTerms search terms
+     * @param offset      number of matching tasks to skip
+     * @param limit       maximum number of tasks to return
+     */
+    public List<Task> searchTasks(@NotBlank String searchTerms, @Min(0) int offset, @Min(1) int limit) {
+        verifier.requirePermission("TASK_READ");
+        if (offset >= this.searchMaxCandidates) {
+            return List.of();
+        }
+        return this.repository.queryNativeEntities(Task.class, Task.QUERY_SEARCH, searchTerms,
+                Math.min(limit, this.searchMaxCandidates - offset), offset, this.searchMaxCandidates);
+    }
+
+    /**
+     * Returns statistics over all tasks computed by the database.
+     * <p>
+     * Statistics may be served from a short-lived cache shared by all users.
+     * </p>
+     */
+    public TaskStatistics getTaskStatistics() {
+        verifier.requirePermission("TASK_READ");
+        return this.statisticsCache.get(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<TaskStatisticsGroup> groups = this.repository.queryValues(TaskStatisticsGroup.class, Task.QUERY_STATISTICS,
+                    Map.of("now", now, "closedStates", TaskStatistics.CLOSED_STATES));
+            return TaskStatistics.of(groups, now);
+        });
+    }
+
+    /**
+     * Returns all tasks modified and the IDs of all tasks removed since the given sync token.
+     * <p>
+     * A truncated delta returns a token pointing right after its last task, so the next synchronization
+     * continues with the next task by modification date/time and ID. Transactions may commit modifications some
+     * time after their modification date/time has been recorded; thus, the token returned by a complete delta
+     * lags behind the current date/time by a configurable overlap.
+     * </p>
+     *
+     * @param since start of the synchronization; must not precede the retention period of removed tasks
+     * @param limit maximum number of modified tasks to return
+     * @throws TaskSyncExpiredException if removed tasks are no longer retained since the given sync token
+     */
+    public TaskDelta getTaskDelta(@NotNull TaskSyncToken since, @Min(1) int limit) {
+        verifier.requirePermission("TASK_READ");
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime modifiedSince = since.modifiedSince();
+        if (modifiedSince.isBefore(now.minus(this.changeRetention))) {
+            throw new TaskSyncExpiredException(modifiedSince);
+        }
+        List<Task> modified = since.after() != null
+                ? this.repository.queryEntities(Task.class, Task.QUERY_MODIFIED_AFTER, Map.of("since", modifiedSince, "after", since.after()), limit + 1)
+                : this.repository.queryEntities(Task.class, Task.QUERY_MODIFIED_SINCE, Map.of("since", modifiedSince), limit + 1);
+        Set<UUID> removed = new HashSet<>(this.repository.queryValues(UUID.class, TaskChange.QUERY_REMOVED_TASK_IDS_SINCE, Map.of("since", modifiedSince)));
+        if (modified.size() > limit) {
+            modified = modified.subList(0, limit);
+            Task last = modified.get(limit - 1);
+            return new TaskDelta(modified, removed, new TaskSyncToken(last.getLastModifiedAt(), last.getId()), false);
+        }
+        LocalDateTime until = now.minus(this.syncOverlap);
+        return new TaskDelta(modified, removed, until.isAfter(modifiedSince) ? TaskSyncToken.since(until) : since, true);
+    }
+
+    /**
+     * Returns the ID of the latest change of any task; subscribers of the task change feed start after this ID
+     * unless they resume from a previous subscription.
+     *
+     * @return ID of the latest change or {@code 0} if there are no changes
+     */
+    public long getLatestTaskChangeId() {
+        return readPermitted("TASK_READ", () -> {
+            Long latest = this.repository.queryValues(Long.class, TaskChange.QUERY_LATEST_ID, null).stream().findFirst().orElse(null);
+            return latest != null ? latest : 0L;
+        });
+    }
+
+    /**
+     * Checks the read permission and opens a cursor over all tasks ordered by ID, which reads tasks from the
+     * database as it advances.
+     * <p>
+     * Requires a transaction started by the caller, which must stay active until the returned cursor is closed;
+     * thus, callers can report missing permissions or failing queries before writing any tasks.
+     * </p>
+     *
+     * @param after ID of the last task already known to the caller; {@code null} to start with the first task
+     * @return open cursor which must be closed by the caller
+     */
+    @TransactionAttribute(TransactionAttributeType.MANDATORY)
+    public EntityCursor<Task> openTaskCursor(UUID after) {
+        verifier.requirePermission("TASK_READ");
+        if (after == null) {
+            return this.repository.openEntityCursor(Task.class, Task.QUERY_ALL, null);
+        }
+        return this.repository.openEntityCursor(Task.class, Task.QUERY_ALL_AFTER, Map.of("after", after));
+    }
+
+    /**
+     * Checks the given permission while reading from the database.
+     * <p>
+     * Starts the permission check asynchronously and runs the given reader in the meantime; the result is only
+     * returned if the current user holds the given permission, so the latency of a read is roughly the maximum
+     * instead of the sum of the durations of permission check and database access.
+     * </p>
+     * <p>
+     * Only meant for cheap reads like lookups by ID or keyset pages, since the reader may run for users lacking
+     * the permission; expensive or shared reads like searches or statistics check the permission upfront.
+     * If the permission check fails, its failure takes precedence over the result or failure of the reader.
+     * </p>
+     */
+    private <T> T readPermitted(String permission, Supplier<T> reader) {
+        return readPermitted(verifier.requirePermissionAsync(permission).toCompletableFuture(), reader);
+    }
+
+    private <T> T readPermitted(CompletableFuture<Void> permissionCheck, Supplier<T> reader) {
+        if (permissionCheck.isDone()) {
+            // permissions were memoized or cached: skip the read if they are insufficient
+            awaitPermission(permissionCheck);
+        }
+        T result;
+        try {
+            result = reader.get();
+        } catch (RuntimeException ex) {
+            awaitPermission(permissionCheck);
+            throw ex;
+        }
+        awaitPermission(permissionCheck);
+        return result;
+    }
+
+    private static void awaitPermission(CompletableFuture<Void> permissionCheck) {
+        long startedAt = System.nanoTime();
+        try {
+            permissionCheck.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        } finally {
+            LayerTimings.addPermissionTime(System.nanoTime() - startedAt);
+        }
+    }
+
+    /**
+     * Validates the given task and records an {@code INVALID} result if validation fails.
+     *
+     * @return {@code true} if the given task is valid
+     */
+    private boolean isValid(int index, Task task, TaskBatchItemResult[] results) {
+        Set<ConstraintViolation<Task>> violations = this.validator.validate(task);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .collect(Collectors.joining(", "));
+            results[index] = new TaskBatchItemResult(index, task.getId(), TaskBatchItemStatus.INVALID, message);
+        }
+        return violations.isEmpty();
+    }
+
+    /**
+     * Records a {@code NOT_FOUND} result for all pending items which refer to non-existing tasks.
+     *
+     * @return pending items referring to existing tasks
+     */
+    private <T> List<Integer> retainExisting(List<T> items, List<Integer> pending, TaskBatchItemResult[] results, Function<T, UUID> idOf) {
+        List<Integer> existing = new ArrayList<>(pending.size());
+        for (List<Integer> chunk : chunks(pending)) {
+            List<UUID> chunkIds = chunk.stream().map(i -> idOf.apply(items.get(i))).toList();
+            Set<UUID> found = new HashSet<>(this.repository.queryValues(UUID.class, Task.QUERY_IDS_IN, Map.of("ids", chunkIds)));
+            for (Integer i : chunk) {
+                UUID id = idOf.apply(items.get(i));
+                if (found.contains(id)) {
+                    existing.add(i);
+                } else {
+                    results[i] = TaskBatchItemResult.of(i, id, TaskBatchItemStatus.NOT_FOUND);
+                }
+            }
+        }
+        return existing;
+    }
+
+    /**
+     * Passes all pending items chunk by chunk to the given processor; each chunk is processed in its own transaction.
+     * <p>
+     * If a chunk fails, its items are processed again one by one to isolate the failing items.
+     * </p>
+     */
+    private <T> void processInChunks(List<T> items, List<Integer> pending, TaskBatchItemResult[] results,
+                                     Consumer<List<T>> processor, Function<T, UUID> idOf, TaskBatchItemStatus successStatus) {
+        for (List<Integer> chunk : chunks(pending)) {
+            try {
+                processor.accept(chunk.stream().map(items::get).toList());
+                chunk.forEach(i -> results[i] = TaskBatchItemResult.of(i, idOf.apply(items.get(i)), successStatus));
+            } catch (RuntimeException chunkFailure) {
+                for (Integer i : chunk) {
+                    T item = items.get(i);
+                    try {
+                        processor.accept(List.of(item));
+                        results[i] = TaskBatchItemResult.of(i, idOf.apply(item), successStatus);
+                    } catch (RuntimeException itemFailure) {
+                        results[i] = TaskBatchItemResult.failed(i, idOf.apply(item), itemFailure);
+                        if (results[i].getStatus() == TaskBatchItemStatus.FAILED) {
+                            LOGGER.warn("failed to process item [{}] of task batch", i, itemFailure);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private List<List<Integer>> chunks(List<Integer> indexes) {
+        List<List<Integer>> result = new ArrayList<>();
+        for (int start = 0; start < indexes.size(); start += this.batchChunkSize) {
+            result.add(indexes.subList(start, Math.min(start + this.batchChunkSize, indexes.size())));
+        }
+        return result;
     }
 }
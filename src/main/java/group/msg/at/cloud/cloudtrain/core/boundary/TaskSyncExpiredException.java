@@ -0,0 +1,26 @@
+package group.msg.at.cloud.cloudtrain.core.boundary;
+
+import jakarta.ejb.ApplicationException;
+
+import java.time.LocalDateTime;
+
+/**
+ * Thrown if tasks cannot be synchronized incrementally because the requested start of the synchronization
+ * precedes the retention period of removed tasks; clients have to fetch all tasks instead.
+ */
+@ApplicationException(rollback = true)
+public class TaskSyncExpiredException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final LocalDateTime modifiedSince;
+
+    public TaskSyncExpiredException(LocalDateTime modifiedSince) {
+        super(String.format("tasks cannot be synchronized since [%s]: removed tasks are no longer retained", modifiedSince));
+        this.modifiedSince = modifiedSince;
+    }
+
+    public LocalDateTime getModifiedSince() {
+        return modifiedSince;
+    }
+}
@@ -0,0 +1,33 @@
+package group.msg.at.cloud.cloudtrain.core.boundary;
+
+import jakarta.ejb.ApplicationException;
+
+import java.util.UUID;
+
+/**
+ * Thrown if a task could not be modified because it has been modified concurrently,
+ * i.e. the version a modification is based on is not the current version of the task.
+ */
+@ApplicationException(rollback = true)
+public class TaskVersionConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final UUID taskId;
+
+    private final int expectedVersion;
+
+    public TaskVersionConflictException(UUID taskId, int expectedVersion, Throwable cause) {
+        super(String.format("task [%s] has been modified concurrently: expected version [%d] is outdated", taskId, expectedVersion), cause);
+        this.taskId = taskId;
+        this.expectedVersion = expectedVersion;
+    }
+
+    public UUID getTaskId() {
+        return taskId;
+    }
+
+    public int getExpectedVersion() {
+        return expectedVersion;
+    }
+}
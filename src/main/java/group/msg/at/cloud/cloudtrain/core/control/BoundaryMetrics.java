@@ -0,0 +1,49 @@
+package group.msg.at.cloud.cloudtrain.core.control;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+import org.eclipse.microprofile.metrics.Timer;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the duration of boundary calls per boundary method as application metrics.
+ * <p>
+ * Each call updates three timers {@code cloudtrain.boundary.calls} tagged with the boundary method: layer
+ * {@code total} covers the whole call, layer {@code permission} the time blocked by permission checks and layer
+ * {@code repository} the time spent in the repository. Permission checks running concurrently with database
+ * access only count with the time waited for them after the database access. Transactions are committed after
+ * the boundary call, so commit time is only contained in the timers of the REST endpoints.
+ * </p>
+ */
+@ApplicationScoped
+public class BoundaryMetrics {
+
+    @Inject
+    MetricRegistry metricRegistry;
+
+    private final Map<Method, BoundaryMethodTimers> timersByMethod = new ConcurrentHashMap<>();
+
+    public void recordCall(Method boundaryMethod, long totalNanos, long permissionNanos, long repositoryNanos) {
+        BoundaryMethodTimers timers = timersByMethod.computeIfAbsent(boundaryMethod, this::register);
+        timers.total().update(Duration.ofNanos(totalNanos));
+        timers.permission().update(Duration.ofNanos(permissionNanos));
+        timers.repository().update(Duration.ofNanos(repositoryNanos));
+    }
+
+    private BoundaryMethodTimers register(Method boundaryMethod) {
+        Tag method = new Tag("method", boundaryMethod.getDeclaringClass().getSimpleName() + "." + boundaryMethod.getName());
+        return new BoundaryMethodTimers(
+                metricRegistry.timer("cloudtrain.boundary.calls", method, new Tag("layer", "total")),
+                metricRegistry.timer("cloudtrain.boundary.calls", method, new Tag("layer", "permission")),
+                metricRegistry.timer("cloudtrain.boundary.calls", method, new Tag("layer", "repository")));
+    }
+
+    private record BoundaryMethodTimers(Timer total, Timer permission, Timer repository) {
+    }
+}
@@ -0,0 +1,31 @@
+package group.msg.at.cloud.cloudtrain.core.control;
+
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.InvocationContext;
+
+/**
+ * Times all calls of the intercepted boundary and splits their duration into permission and repository time
+ * accumulated by {@link LayerTimings}.
+ */
+public class BoundaryTimingInterceptor {
+
+    @Inject
+    BoundaryMetrics metrics;
+
+    @AroundInvoke
+    public Object timeCall(InvocationContext context) throws Exception {
+        LayerTimings timings = LayerTimings.start();
+        if (timings == null) {
+            return context.proceed();
+        }
+        long startedAt = System.nanoTime();
+        try {
+            return context.proceed();
+        } finally {
+            long duration = System.nanoTime() - startedAt;
+            timings.stop();
+            metrics.recordCall(context.getMethod(), duration, timings.getPermissionNanos(), timings.getRepositoryNanos());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package group.msg.at.cloud.cloudtrain.core.control;
+
+import jakarta.enterprise.context.RequestScoped;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Memoizes the permissions of the current user for the duration of a single request.
+ * <p>
+ * Permissions may be loaded synchronously or asynchronously; either way, they are loaded at most once per request.
+ * </p>
+ */
+@RequestScoped
+public class CurrentUserPermissions {
+
+    private CompletableFuture<Set<String>> permissions;
+
+    public Set<String> get(Supplier<Set<String>> loader) {
+        if (permissions == null) {
+            permissions = CompletableFuture.completedFuture(loader.get());
+        }
+        try {
+            return permissions.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    public CompletionStage<Set<String>> getAsync(Supplier<CompletionStage<Set<String>>> loader) {
+        if (permissions == null) {
+            permissions = loader.get().toCompletableFuture();
+        }
+        return permissions;
+    }
+}
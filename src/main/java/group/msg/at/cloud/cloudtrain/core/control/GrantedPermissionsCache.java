@@ -0,0 +1,296 @@
+package group.msg.at.cloud.cloudtrain.core.control;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+
+import java.time.Duration;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Application-wide cache of the permissions granted to users, keyed by the subject of the user's JWT.
+ * <p>
+ * Entries are immutable sets of permission names which expire after a configurable time-to-live.
+ * Lookups only read a {@link ConcurrentHashMap} and never block. The number of cached users is bounded; when
+ * the cache is full, the entry closest to expiry is dropped. Since all entries share the same time-to-live,
+ * the order in which entries were cached is their expiry order, which is kept in a separate queue. Caching an entry
+ * evicts the eldest entries beyond the maximum size and drops entries exceeding their maximum staleness; eviction
+ * is skipped if another thread is already evicting.
+ * </p>
+ * <p>
+ * Expired entries are retained for a configurable maximum staleness: if the remote service is unavailable,
+ * the {@link GrantedPermissionsLoader} falls back to these stale permissions. Stale permissions are never cached
+ * again, so they are served no longer than the maximum staleness, even during long outages.
+ * </p>
+ * <p>
+ * Concurrent lookups of the same subject which miss the cache share a single in-flight call of the loader
+ * and its result, even if caching is disabled.
+ * </p>
+ * <p>
+ * Cache hits, misses, evictions, stale permissions served and coalesced lookups are exposed as application metrics.
+ * </p>
+ */
+@ApplicationScoped
+public class GrantedPermissionsCache {
+
+    @Inject
+    @ConfigProperty(name = "cloudtrain.services.grantedpermissions.cache.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @Inject
+    @ConfigProperty(name = "cloudtrain.services.grantedpermissions.cache.ttl", defaultValue = "PT30S")
+    Duration timeToLive;
+
+    @Inject
+    @ConfigProperty(name = "cloudtrain.services.grantedpermissions.cache.maxSize", defaultValue = "1000")
+    int maxSize;
+
+    @Inject
+    @ConfigProperty(name = "cloudtrain.services.grantedpermissions.cache.maxStaleness", defaultValue = "PT5M")
+    Duration maxStaleness;
+
+    @Inject
+    MetricRegistry metricRegistry;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * All entries in the order they were cached, i.e. ordered by expiry, including entries already replaced or
+     * removed, which are dropped when they reach the head of the queue.
+     */
+    private final Queue<Expiry> expiryOrder = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Guards the eviction of entries; acquired by caching threads only if not held by another thread.
+     */
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    /**
+     * Pending loads by subject; removed as soon as the loaded permissions are cached.
+     */
+    private final Map<String, CompletableFuture<Set<String>>> pendingLoads = new ConcurrentHashMap<>();
+
+    private Counter hits;
+
+    private Counter misses;
+
+    private Counter evictions;
+
+    private Counter staleHits;
+
+    private Counter coalescedLoads;
+
+    @PostConstruct
+    void onPostConstruct() {
+        this.hits = metricRegistry.counter("cloudtrain.permissions.cache.hits");
+        this.misses = metricRegistry.counter("cloudtrain.permissions.cache.misses");
+        this.evictions = metricRegistry.counter("cloudtrain.permissions.cache.evictions");
+        this.staleHits = metricRegistry.counter("cloudtrain.permissions.cache.staleHits");
+        this.coalescedLoads = metricRegistry.counter("cloudtrain.permissions.cache.coalescedLoads");
+    }
+
+    /**
+     * Returns the cached permissions of the given subject, calling the given loader if there are no
+     * cached permissions or if the cached permissions already expired.
+     *
+     * @param subject subject of the current user
+     * @param loader  loads the permissions of the current user from the remote service
+     * @return immutable set of permission names, never {@code null}
+     */
+    public Set<String> getPermissions(String subject, Supplier<Set<String>> loader) {
+        long now = System.nanoTime();
+        Set<String> cached = lookup(subject, now);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            return load(subject, () -> CompletableFuture.completedFuture(loader.get()), now).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #getPermissions(String, Supplier)}: returns an already completed stage
+     * if there are cached permissions, otherwise the stage returned by the given loader.
+     *
+     * @param subject subject of the current user
+     * @param loader  starts loading the permissions of the current user from the remote service
+     * @return stage completing with an immutable set of permission names
+     */
+    public CompletionStage<Set<String>> getPermissionsAsync(String subject, Supplier<CompletionStage<Set<String>>> loader) {
+        long now = System.nanoTime();
+        Set<String> cached = lookup(subject, now);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return load(subject, loader, now);
+    }
+
+    /**
+     * Returns the cached permissions of the given subject even if they already expired, as long as they did not
+     * exceed their maximum staleness.
+     *
+     * @param subject subject of the current user
+     * @return immutable set of permission names marked as stale or {@code null} if there are no sufficiently fresh permissions
+     */
+    public Set<String> getStalePermissions(String subject) {
+        Entry cached = entries.get(subject);
+        if (cached == null || cached.isStale(System.nanoTime(), maxStaleness.toNanos())) {
+            return null;
+        }
+        staleHits.inc();
+        return new StalePermissions(cached.permissions());
+    }
+
+    /**
+     * Removes the cached permissions of the given subject.
+     */
+    public void invalidate(String subject) {
+        if (entries.remove(subject) != null) {
+            evictions.inc();
+        }
+    }
+
+    /**
+     * Calls the given loader unless there is already a pending load for the given subject, in which case
+     * the pending load is returned instead.
+     * <p>
+     * Loaded permissions are cached before the pending load is removed, so subsequent lookups either
+     * hit the cache or join the pending load.
+     * </p>
+     */
+    private CompletableFuture<Set<String>> load(String subject, Supplier<CompletionStage<Set<String>>> loader, long now) {
+        CompletableFuture<Set<String>> pending = new CompletableFuture<>();
+        CompletableFuture<Set<String>> existing = pendingLoads.putIfAbsent(subject, pending);
+        if (existing != null) {
+            coalescedLoads.inc();
+            return existing;
+        }
+        try {
+            loader.get().whenComplete((loaded, failure) -> {
+                if (failure == null && enabled && !(loaded instanceof StalePermissions)) {
+                    put(subject, loaded, now);
+                }
+                pendingLoads.remove(subject, pending);
+                if (failure == null) {
+                    pending.complete(loaded);
+                } else {
+                    pending.completeExceptionally(failure);
+                }
+            });
+        } catch (RuntimeException ex) {
+            pendingLoads.remove(subject, pending);
+            pending.completeExceptionally(ex);
+        }
+        return pending;
+    }
+
+    private Set<String> lookup(String subject, long now) {
+        if (!enabled) {
+            return null;
+        }
+        Entry cached = entries.get(subject);
+        if (cached != null && !cached.isExpired(now)) {
+            hits.inc();
+            return cached.permissions();
+        }
+        misses.inc();
+        return null;
+    }
+
+    private void put(String subject, Set<String> permissions, long now) {
+        Entry entry = new Entry(permissions, now + timeToLive.toNanos());
+        entries.put(subject, entry);
+        expiryOrder.add(new Expiry(subject, entry));
+        evict();
+    }
+
+    /**
+     * Drops the eldest entries while the cache exceeds its maximum size or while they exceed their maximum
+     * staleness, unless another thread is already evicting.
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        int evicted = 0;
+        try {
+            long now = System.nanoTime();
+            long maxStalenessNanos = maxStaleness.toNanos();
+            for (Expiry eldest = expiryOrder.peek(); eldest != null; eldest = expiryOrder.peek()) {
+                boolean current = entries.get(eldest.subject()) == eldest.entry();
+                if (current && entries.size() <= maxSize && !eldest.entry().isStale(now, maxStalenessNanos)) {
+                    break;
+                }
+                expiryOrder.poll();
+                if (current && entries.remove(eldest.subject(), eldest.entry())) {
+                    evicted++;
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+        if (evicted > 0) {
+            evictions.inc(evicted);
+        }
+    }
+
+    /**
+     * Permissions served from an expired entry, which must not be cached again.
+     */
+    private static final class StalePermissions extends AbstractSet<String> {
+
+        private final Set<String> permissions;
+
+        StalePermissions(Set<String> permissions) {
+            this.permissions = permissions;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return permissions.contains(o);
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return permissions.iterator();
+        }
+
+        @Override
+        public int size() {
+            return permissions.size();
+        }
+    }
+
+    private record Expiry(String subject, Entry entry) {
+    }
+
+    private record Entry(Set<String> permissions, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+
+        boolean isStale(long now, long maxStaleness) {
+            return now - expiresAt - maxStaleness >= 0;
+        }
+    }
+}
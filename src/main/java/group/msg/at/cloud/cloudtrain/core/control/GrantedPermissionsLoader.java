@@ -0,0 +1,159 @@
+package group.msg.at.cloud.cloudtrain.core.control;
+
+import group.msg.at.cloud.cloudtrain.adapter.rest.grantedpermissions.GrantedPermission;
+import group.msg.at.cloud.cloudtrain.adapter.rest.grantedpermissions.GrantedPermissionsClient;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.ForbiddenException;
+import jakarta.ws.rs.NotAuthorizedException;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.faulttolerance.Asynchronous;
+import org.eclipse.microprofile.faulttolerance.Bulkhead;
+import org.eclipse.microprofile.faulttolerance.CircuitBreaker;
+import org.eclipse.microprofile.faulttolerance.Fallback;
+import org.eclipse.microprofile.faulttolerance.Timeout;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+import org.eclipse.microprofile.metrics.Timer;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the permissions granted to the current user from the remote {@code GrantedPermissions} service.
+ * <p>
+ * Remote calls are guarded by MicroProfile Fault Tolerance: each call times out, the number of concurrent calls
+ * is limited by a bulkhead and a circuit breaker stops calling the remote service while it keeps failing.
+ * If a call fails for any of these reasons, the last known permissions of the user are returned as long as they
+ * are not older than the maximum staleness configured for the {@link GrantedPermissionsCache}. Responses rejecting
+ * the current user with status 401, 403 or 404 neither fall back to stale permissions nor count as failures
+ * of the remote service.
+ * </p>
+ * <p>
+ * Since a timeout cannot interrupt blocking socket I/O of synchronous calls, the REST client is configured with
+ * its own connect and read timeouts.
+ * </p>
+ * <p>
+ * All fault tolerance parameters can be overridden with MicroProfile Config properties like
+ * {@code group.msg.at.cloud.cloudtrain.core.control.GrantedPermissionsLoader/loadPermissions/Timeout/value}.
+ * </p>
+ * <p>
+ * The duration of all remote calls is recorded by timer {@code cloudtrain.services.grantedpermissions.calls}
+ * tagged with the outcome of the call: the status family of the response like {@code successful} or
+ * {@code server_error}, or {@code failure} if no response has been received at all.
+ * </p>
+ */
+@ApplicationScoped
+public class GrantedPermissionsLoader {
+
+    @Inject
+    @RestClient
+    GrantedPermissionsClient client;
+
+    @Inject
+    GrantedPermissionsCache cache;
+
+    @Inject
+    MetricRegistry metricRegistry;
+
+    private final Map<String, Timer> timersByOutcome = new ConcurrentHashMap<>();
+
+    /**
+     * Loads the permissions of the current user.
+     *
+     * @param subject       subject of the current user; used to look up stale permissions if the remote call fails
+     * @param authorization value of the {@code Authorization} header carrying the token of the current user
+     * @return immutable set of permission names
+     */
+    @Timeout(value = 2, unit = ChronoUnit.SECONDS)
+    @Bulkhead(50)
+    @CircuitBreaker(requestVolumeThreshold = 20, failureRatio = 0.5, delay = 10, delayUnit = ChronoUnit.SECONDS, successThreshold = 2,
+            skipOn = {NotAuthorizedException.class, ForbiddenException.class, NotFoundException.class})
+    @Fallback(fallbackMethod = "getStalePermissions",
+            skipOn = {NotAuthorizedException.class, ForbiddenException.class, NotFoundException.class})
+    public Set<String> loadPermissions(String subject, String authorization) {
+        long startedAt = System.nanoTime();
+        try {
+            List<GrantedPermission> result = client.getGrantedPermissionsByCurrentUser(authorization);
+            recordCall(startedAt, null);
+            return toPermissionNames(result);
+        } catch (RuntimeException ex) {
+            recordCall(startedAt, ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #loadPermissions(String, String)} which returns immediately.
+     */
+    @Asynchronous
+    @Timeout(value = 2, unit = ChronoUnit.SECONDS)
+    @Bulkhead(value = 50, waitingTaskQueue = 100)
+    @CircuitBreaker(requestVolumeThreshold = 20, failureRatio = 0.5, delay = 10, delayUnit = ChronoUnit.SECONDS, successThreshold = 2,
+            skipOn = {NotAuthorizedException.class, ForbiddenException.class, NotFoundException.class})
+    @Fallback(fallbackMethod = "getStalePermissionsAsync",
+            skipOn = {NotAuthorizedException.class, ForbiddenException.class, NotFoundException.class})
+    public CompletionStage<Set<String>> loadPermissionsAsync(String subject, String authorization) {
+        long startedAt = System.nanoTime();
+        return client.getGrantedPermissionsByCurrentUserAsync(authorization)
+                .whenComplete((result, failure) -> recordCall(startedAt, failure))
+                .thenApply(GrantedPermissionsLoader::toPermissionNames)
+                // complete with the original failure, so fault tolerance can tell rejected users from failures
+                .exceptionallyCompose(failure -> CompletableFuture.failedFuture(unwrap(failure)));
+    }
+
+    Set<String> getStalePermissions(String subject, String authorization) {
+        Set<String> result = cache.getStalePermissions(subject);
+        if (result == null) {
+            throw new IllegalStateException(String.format("granted permissions of user [%s] are not available", subject));
+        }
+        return result;
+    }
+
+    CompletionStage<Set<String>> getStalePermissionsAsync(String subject, String authorization) {
+        try {
+            return CompletableFuture.completedFuture(getStalePermissions(subject, authorization));
+        } catch (IllegalStateException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private void recordCall(long startedAt, Throwable failure) {
+        Duration duration = Duration.ofNanos(System.nanoTime() - startedAt);
+        timersByOutcome.computeIfAbsent(toOutcome(failure), this::register).update(duration);
+    }
+
+    private Timer register(String outcome) {
+        return metricRegistry.timer("cloudtrain.services.grantedpermissions.calls", new Tag("outcome", outcome));
+    }
+
+    private static String toOutcome(Throwable failure) {
+        Throwable cause = unwrap(failure);
+        if (cause == null) {
+            return Response.Status.Family.SUCCESSFUL.name().toLowerCase(Locale.ROOT);
+        } else if (cause instanceof WebApplicationException ex && ex.getResponse() != null) {
+            return ex.getResponse().getStatusInfo().getFamily().name().toLowerCase(Locale.ROOT);
+        }
+        return "failure";
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    private static Set<String> toPermissionNames(List<GrantedPermission> permissions) {
+        return permissions.stream().map(GrantedPermission::getPermission).collect(Collectors.toUnmodifiableSet());
+    }
+}
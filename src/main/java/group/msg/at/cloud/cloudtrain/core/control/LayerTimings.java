@@ -0,0 +1,66 @@
+package group.msg.at.cloud.cloudtrain.core.control;
+
+/**
+ * Accumulates the time the current boundary call spends in the permission layer and the repository layer.
+ * <p>
+ * Timings are bound to the current thread and only accumulated while a boundary call instrumented by
+ * {@link BoundaryTimingInterceptor} is in progress; outside of boundary calls, all times are discarded.
+ * </p>
+ */
+public final class LayerTimings {
+
+    private static final ThreadLocal<LayerTimings> CURRENT = new ThreadLocal<>();
+
+    private long permissionNanos;
+
+    private long repositoryNanos;
+
+    private LayerTimings() {
+    }
+
+    /**
+     * Starts accumulating timings on the current thread.
+     *
+     * @return new timings or {@code null} if timings are already accumulated by an enclosing boundary call
+     */
+    static LayerTimings start() {
+        if (CURRENT.get() != null) {
+            return null;
+        }
+        LayerTimings result = new LayerTimings();
+        CURRENT.set(result);
+        return result;
+    }
+
+    void stop() {
+        CURRENT.remove();
+    }
+
+    long getPermissionNanos() {
+        return permissionNanos;
+    }
+
+    long getRepositoryNanos() {
+        return repositoryNanos;
+    }
+
+    /**
+     * Adds the given time the current boundary call has been blocked by a permission check.
+     */
+    public static void addPermissionTime(long nanos) {
+        LayerTimings current = CURRENT.get();
+        if (current != null) {
+            current.permissionNanos += nanos;
+        }
+    }
+
+    /**
+     * Adds the given time the current boundary call has spent in the repository.
+     */
+    public static void addRepositoryTime(long nanos) {
+        LayerTimings current = CURRENT.get();
+        if (current != null) {
+            current.repositoryNanos += nanos;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package group.msg.at.cloud.cloudtrain.core.control;
+
+import group.msg.at.cloud.cloudtrain.adapter.persistence.jpa.repository.GenericRepository;
+import group.msg.at.cloud.cloudtrain.core.entity.Task;
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.inject.Inject;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes chunks of {@link Task} entities, each chunk in its own transaction.
+ * <p>
+ * All statements of a chunk are flushed at once, so EclipseLink batch writing sends them to the database
+ * in as few round-trips as possible. Permission checks and validation are up to the calling boundary.
+ * </p>
+ */
+@Stateless
+@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+public class TaskBatchProcessor {
+
+    @Inject
+    private GenericRepository repository;
+
+    public void addTasks(List<Task> newTasks) {
+        newTasks.forEach(this.repository::addEntity);
+        this.repository.flush();
+    }
+
+    public void modifyTasks(List<Task> modifiedTasks) {
+        modifiedTasks.forEach(this.repository::setEntity);
+        this.repository.flush();
+    }
+
+    public void removeTasks(List<UUID> taskIds) {
+        this.repository.executeUpdate(Task.DELETE_BY_IDS, Map.of("ids", taskIds));
+        this.repository.evictEntities(Task.class, taskIds);
+    }
+}
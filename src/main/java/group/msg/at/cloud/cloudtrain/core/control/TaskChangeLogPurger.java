@@ -0,0 +1,73 @@
+package group.msg.at.cloud.cloudtrain.core.control;
+
+import group.msg.at.cloud.cloudtrain.adapter.persistence.jpa.repository.GenericRepository;
+import group.msg.at.cloud.cloudtrain.core.entity.TaskChange;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedScheduledExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically removes {@link TaskChange}s older than {@code cloudtrain.tasks.changes.retention} from the change log.
+ * <p>
+ * The change log is written by a trigger on every modification of a task, no matter if the change feed is enabled;
+ * so purging runs on every instance independently of the feed. Concurrent purges of several instances delete
+ * the same rows and are harmless.
+ * </p>
+ */
+@ApplicationScoped
+public class TaskChangeLogPurger {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskChangeLogPurger.class);
+
+    @Inject
+    @ConfigProperty(name = "cloudtrain.tasks.changes.retention", defaultValue = "P7D")
+    Duration retention;
+
+    @Inject
+    @ConfigProperty(name = "cloudtrain.tasks.changes.purgeInterval", defaultValue = "PT1H")
+    Duration purgeInterval;
+
+    @Resource
+    ManagedScheduledExecutorService scheduler;
+
+    @Inject
+    GenericRepository repository;
+
+    private ScheduledFuture<?> purging;
+
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        purging = scheduler.scheduleWithFixedDelay(this::purge, 0, purgeInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void onPreDestroy() {
+        if (purging != null) {
+            purging.cancel(false);
+        }
+    }
+
+    /**
+     * Removes all changes older than the retention period; failures are logged and retried with the next run.
+     */
+    void purge() {
+        try {
+            int purged = this.repository.executeUpdate(TaskChange.DELETE_BEFORE, Map.of("before", LocalDateTime.now().minus(retention)));
+            LOGGER.debug("purged {} task changes older than {}", purged, retention);
+        } catch (RuntimeException ex) {
+            LOGGER.warn("failed to purge task changes older than {}; retrying in {}", retention, purgeInterval, ex);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package group.msg.at.cloud.cloudtrain.core.control;
+
+import group.msg.at.cloud.cloudtrain.core.entity.TaskStatistics;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Application-wide cache of the most recently computed {@link TaskStatistics}.
+ * <p>
+ * Statistics are shared by all users and recomputed after a short configurable time-to-live,
+ * so frequent dashboard refreshes don't hit the database each time. A time-to-live of zero disables caching.
+ * </p>
+ */
+@ApplicationScoped
+public class TaskStatisticsCache {
+
+    @Inject
+    @ConfigProperty(name = "cloudtrain.tasks.statistics.cache.ttl", defaultValue = "PT10S")
+    Duration timeToLive;
+
+    private volatile Entry current;
+
+    /**
+     * Returns the cached statistics, calling the given loader if there are no cached statistics
+     * or if the cached statistics already expired.
+     */
+    public TaskStatistics get(Supplier<TaskStatistics> loader) {
+        long now = System.nanoTime();
+        Entry cached = current;
+        if (cached != null && now - cached.expiresAt() < 0) {
+            return cached.statistics();
+        }
+        TaskStatistics loaded = loader.get();
+        if (!timeToLive.isZero()) {
+            current = new Entry(loaded, now + timeToLive.toNanos());
+        }
+        return loaded;
+    }
+
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    private record Entry(TaskStatistics statistics, long expiresAt) {
+    }
+}
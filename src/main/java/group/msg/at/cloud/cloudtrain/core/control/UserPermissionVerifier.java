@@ -1,39 +1,161 @@
 package group.msg.at.cloud.cloudtrain.core.control;
 
-import group.msg.at.cloud.cloudtrain.adapter.rest.grantedpermissions.GrantedPermission;
-import group.msg.at.cloud.cloudtrain.adapter.rest.grantedpermissions.GrantedPermissionsClient;
 import jakarta.enterprise.context.Dependent;
 import jakarta.inject.Inject;
-import org.eclipse.microprofile.rest.client.inject.RestClient;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.jwt.JsonWebToken;
 
 import java.security.Principal;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
 
 @Dependent
 public class UserPermissionVerifier {
 
     @Inject
-    @RestClient
-    GrantedPermissionsClient client;
+    GrantedPermissionsLoader loader;
 
     @Inject
     Principal currentUser;
 
+    @Inject
+    JsonWebToken currentToken;
+
+    @Inject
+    GrantedPermissionsCache cache;
+
+    @Inject
+    CurrentUserPermissions requestPermissions;
+
+    @Inject
+    @ConfigProperty(name = "cloudtrain.services.grantedpermissions.claim.enabled", defaultValue = "false")
+    boolean claimEnabled;
+
+    @Inject
+    @ConfigProperty(name = "cloudtrain.services.grantedpermissions.claim.name", defaultValue = "permissions")
+    String claimName;
+
     public boolean hasPermission(String permission) {
+        return getCurrentUserPermissions().contains(permission);
+    }
 
-        List<GrantedPermission> permissions = client.getGrantedPermissionsByCurrentUser();
-        for (GrantedPermission current : permissions) {
-            if (current.getPermission().equals(permission)) {
-                return true;
+    public void requirePermission(String permission) {
+        long startedAt = System.nanoTime();
+        try {
+            if (!hasPermission(permission)) {
+                throw missingPermission(permission, currentUser.getName());
             }
+        } finally {
+            LayerTimings.addPermissionTime(System.nanoTime() - startedAt);
         }
+    }
 
-        return false;
+    /**
+     * Asynchronous variant of {@link #requirePermission(String)} which returns immediately.
+     * <p>
+     * The returned stage completes exceptionally with an {@code IllegalStateException} if the current user
+     * lacks the given permission.
+     * </p>
+     */
+    public CompletionStage<Void> requirePermissionAsync(String permission) {
+        String userName = currentUser.getName();
+        return getCurrentUserPermissionsAsync().thenAccept(permissions -> {
+            if (!permissions.contains(permission)) {
+                throw missingPermission(permission, userName);
+            }
+        });
     }
 
-    public void requirePermission(String permission) {
-        if (!hasPermission(permission)) {
-            throw new IllegalStateException(String.format("missing required permission [%s] for user [%s]", permission, currentUser.getName()));
+    /**
+     * Returns all permissions granted to the current user.
+     * <p>
+     * If reading permissions from the JWT is enabled and the current token carries the configured claim,
+     * the permissions are taken from this claim without calling the remote service.
+     * </p>
+     * <p>
+     * Permissions are memoized for the current request and cached across requests;
+     * concurrent requests of the same user share a single call of the remote service.
+     * </p>
+     */
+    public Set<String> getCurrentUserPermissions() {
+        return requestPermissions.get(() -> {
+            Set<String> claimed = getClaimedPermissions();
+            if (claimed != null) {
+                return claimed;
+            }
+            String subject = getCurrentSubject();
+            String authorization = getCurrentAuthorization();
+            return cache.getPermissions(subject, () -> loader.loadPermissions(subject, authorization));
+        });
+    }
+
+    /**
+     * Asynchronous variant of {@link #getCurrentUserPermissions()} which returns immediately.
+     */
+    public CompletionStage<Set<String>> getCurrentUserPermissionsAsync() {
+        return requestPermissions.getAsync(() -> {
+            Set<String> claimed = getClaimedPermissions();
+            if (claimed != null) {
+                return CompletableFuture.completedFuture(claimed);
+            }
+            String subject = getCurrentSubject();
+            String authorization = getCurrentAuthorization();
+            return cache.getPermissionsAsync(subject, () -> loader.loadPermissionsAsync(subject, authorization));
+        });
+    }
+
+    /**
+     * Returns the permissions carried by the configured claim of the current token.
+     * <p>
+     * The claim may either be an array of permission names or a single string of permission names
+     * separated by whitespace or commas.
+     * </p>
+     *
+     * @return immutable set of permission names or {@code null} if reading the claim is disabled or the claim is missing
+     */
+    private Set<String> getClaimedPermissions() {
+        if (!claimEnabled || !currentToken.containsClaim(claimName)) {
+            return null;
+        }
+        Object claim = currentToken.getClaim(claimName);
+        if (claim instanceof Collection<?> values) {
+            return values.stream().map(UserPermissionVerifier::toPermissionName).collect(Collectors.toUnmodifiableSet());
         }
+        String value = toPermissionName(claim);
+        return Arrays.stream(value.split("[\\s,]+")).filter(s -> !s.isEmpty()).collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static String toPermissionName(Object value) {
+        if (value instanceof JsonString string) {
+            return string.getString();
+        }
+        return value instanceof JsonValue json ? json.toString() : String.valueOf(value);
+    }
+
+    private String getCurrentSubject() {
+        String subject = currentToken.getSubject();
+        return subject != null ? subject : currentUser.getName();
+    }
+
+    /**
+     * Returns the {@code Authorization} header value carrying the current token.
+     * <p>
+     * Must be called on the request thread, since the token is not available on the threads
+     * running asynchronous remote calls.
+     * </p>
+     */
+    private String getCurrentAuthorization() {
+        String rawToken = currentToken.getRawToken();
+        return rawToken != null ? "Bearer " + rawToken : null;
+    }
+
+    private static IllegalStateException missingPermission(String permission, String userName) {
+        return new IllegalStateException(String.format("missing required permission [%s] for user [%s]", permission, userName));
     }
 }
@@ -17,8 +17,24 @@ import java.util.UUID;
  * @since release 1.0 29.10.2012 17:27:22
  */
 @Entity
+@Cacheable
 @Table(name = "T_TASK")
+@NamedNativeQueries({@NamedNativeQuery(name = Task.QUERY_SEARCH, resultClass = Task.class,
+        query = "SELECT t.* FROM (SELECT * FROM T_TASK WHERE SEARCH_VECTOR @@ websearch_to_tsquery('simple', ?1) "
+                + "ORDER BY ts_rank(SEARCH_VECTOR, websearch_to_tsquery('simple', ?1)) DESC, TASK_ID LIMIT ?4) t "
+                + "ORDER BY ts_rank(t.SEARCH_VECTOR, websearch_to_tsquery('simple', ?1)) DESC, t.TASK_ID LIMIT ?2 OFFSET ?3")})
 @NamedQueries({@NamedQuery(name = Task.QUERY_ALL, query = "SELECT t FROM Task t ORDER BY t.id"),
+        @NamedQuery(name = Task.QUERY_ALL_AFTER, query = "SELECT t FROM Task t WHERE t.id > :after ORDER BY t.id"),
+        @NamedQuery(name = Task.QUERY_MODIFIED_SINCE, query = "SELECT t FROM Task t WHERE t.lastModifiedAt >= :since ORDER BY t.lastModifiedAt, t.id"),
+        @NamedQuery(name = Task.QUERY_MODIFIED_AFTER, query = "SELECT t FROM Task t WHERE t.lastModifiedAt >= :since AND (t.lastModifiedAt > :since OR t.id > :after) ORDER BY t.lastModifiedAt, t.id"),
+        @NamedQuery(name = Task.QUERY_VERSION_BY_ID, query = "SELECT NEW group.msg.at.cloud.cloudtrain.core.entity.TaskVersion(t.id, t.version) FROM Task t WHERE t.id = :id"),
+        @NamedQuery(name = Task.QUERY_VERSIONS, query = "SELECT NEW group.msg.at.cloud.cloudtrain.core.entity.TaskVersion(t.id, t.version) FROM Task t ORDER BY t.id"),
+        @NamedQuery(name = Task.QUERY_VERSIONS_AFTER, query = "SELECT NEW group.msg.at.cloud.cloudtrain.core.entity.TaskVersion(t.id, t.version) FROM Task t WHERE t.id > :after ORDER BY t.id"),
+        @NamedQuery(name = Task.QUERY_IDS_IN, query = "SELECT t.id FROM Task t WHERE t.id IN :ids"),
+        @NamedQuery(name = Task.DELETE_BY_IDS, query = "DELETE FROM Task t WHERE t.id IN :ids"),
+        @NamedQuery(name = Task.QUERY_STATISTICS, query = "SELECT NEW group.msg.at.cloud.cloudtrain.core.entity.TaskStatisticsGroup(t.lifeCycleState, t.priority, t.category, COUNT(t), SUM(t.completionRate), "
+                + "SUM(CASE WHEN t.dueDate < :now AND t.lifeCycleState NOT IN :closedStates THEN 1 ELSE 0 END)) "
+                + "FROM Task t GROUP BY t.lifeCycleState, t.priority, t.category"),
         @NamedQuery(name = Task.COUNT_ALL, query = "SELECT COUNT(t) FROM Task t")})
 public class Task extends AbstractAuditableEntity {
 
@@ -26,6 +42,62 @@ public class Task extends AbstractAuditableEntity {
 
     public static final String QUERY_ALL = JPA_NAME_PREFIX + "QUERY_ALL";
 
+    /**
+     * Keyset pagination query returning all tasks with an ID greater than parameter {@code after}.
+     */
+    public static final String QUERY_ALL_AFTER = JPA_NAME_PREFIX + "QUERY_ALL_AFTER";
+
+    /**
+     * Returns all tasks modified at or after parameter {@code since} ordered by modification date/time and ID.
+     */
+    public static final String QUERY_MODIFIED_SINCE = JPA_NAME_PREFIX + "QUERY_MODIFIED_SINCE";
+
+    /**
+     * Returns all tasks modified after the task with ID {@code after} modified at parameter {@code since}
+     * ordered by modification date/time and ID.
+     */
+    public static final String QUERY_MODIFIED_AFTER = JPA_NAME_PREFIX + "QUERY_MODIFIED_AFTER";
+
+    /**
+     * Returns the {@link TaskVersion} of the task with the ID given as parameter {@code id}.
+     */
+    public static final String QUERY_VERSION_BY_ID = JPA_NAME_PREFIX + "QUERY_VERSION_BY_ID";
+
+    /**
+     * Returns the {@link TaskVersion}s of all tasks; same order as {@link #QUERY_ALL}.
+     */
+    public static final String QUERY_VERSIONS = JPA_NAME_PREFIX + "QUERY_VERSIONS";
+
+    /**
+     * Returns the {@link TaskVersion}s of all tasks with an ID greater than parameter {@code after}; same order as {@link #QUERY_ALL_AFTER}.
+     */
+    public static final String QUERY_VERSIONS_AFTER = JPA_NAME_PREFIX + "QUERY_VERSIONS_AFTER";
+
+    /**
+     * Returns the IDs of all existing tasks whose ID is contained in parameter {@code ids}.
+     */
+    public static final String QUERY_IDS_IN = JPA_NAME_PREFIX + "QUERY_IDS_IN";
+
+    /**
+     * Bulk deletes all tasks whose ID is contained in parameter {@code ids}.
+     */
+    public static final String DELETE_BY_IDS = JPA_NAME_PREFIX + "DELETE_BY_IDS";
+
+    /**
+     * Returns a {@link TaskStatisticsGroup} for each combination of life-cycle state, priority and category;
+     * tasks due before parameter {@code now} whose life-cycle state is not contained in parameter
+     * {@code closedStates} are counted as overdue.
+     */
+    public static final String QUERY_STATISTICS = JPA_NAME_PREFIX + "QUERY_STATISTICS";
+
+    /**
+     * Native full-text search query returning all tasks whose subject or description match the search terms given
+     * as first parameter, ordered by descending rank; second and third parameter limit the result to a single page.
+     * Only the best ranked matching tasks up to the number given as fourth parameter are returned, ties broken by ID,
+     * so pages of broad search terms are stable and the final sort and offset only process the capped candidates.
+     */
+    public static final String QUERY_SEARCH = JPA_NAME_PREFIX + "QUERY_SEARCH";
+
     public static final String COUNT_ALL = JPA_NAME_PREFIX + "COUNT_ALL";
 
     /**
@@ -345,6 +417,17 @@ public class Task extends AbstractAuditableEntity {
         return version;
     }
 
+    /**
+     * Sets the version a modification of this task is based on.
+     * <p>
+     * Only supposed to be called when applying client modifications; the version of persistent tasks
+     * is managed by the persistence provider.
+     * </p>
+     */
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     /**
      * @see Object#hashCode()
      */
@@ -0,0 +1,91 @@
+package group.msg.at.cloud.cloudtrain.core.entity;
+
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.validation.ConstraintViolationException;
+
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Result of processing a single item of a {@link Task} batch.
+ */
+public final class TaskBatchItemResult {
+
+    /**
+     * Position of the item within the batch.
+     */
+    private final int index;
+
+    /**
+     * ID of the processed task; may be {@code null} if the item is invalid.
+     */
+    private final UUID taskId;
+
+    private final TaskBatchItemStatus status;
+
+    /**
+     * Reason why processing failed; {@code null} if processing succeeded.
+     */
+    private final String message;
+
+    public TaskBatchItemResult(int index, UUID taskId, TaskBatchItemStatus status, String message) {
+        this.index = index;
+        this.taskId = taskId;
+        this.status = status;
+        this.message = message;
+    }
+
+    public static TaskBatchItemResult of(int index, UUID taskId, TaskBatchItemStatus status) {
+        return new TaskBatchItemResult(index, taskId, status, null);
+    }
+
+    /**
+     * Creates a result for an item whose processing failed with the given exception.
+     * <p>
+     * Known failures are mapped to a specific status with a stable message: validation failures to
+     * {@link TaskBatchItemStatus#INVALID}, optimistic lock failures to {@link TaskBatchItemStatus#CONFLICT} and
+     * missing tasks to {@link TaskBatchItemStatus#NOT_FOUND}. All other failures are reported as
+     * {@link TaskBatchItemStatus#FAILED} with a generic message, so no database internals are exposed to clients.
+     * </p>
+     */
+    public static TaskBatchItemResult failed(int index, UUID taskId, Throwable failure) {
+        for (Throwable current = failure; current != null; current = current.getCause()) {
+            if (current instanceof ConstraintViolationException violation) {
+                String message = violation.getConstraintViolations().stream()
+                        .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                        .collect(Collectors.joining(", "));
+                return new TaskBatchItemResult(index, taskId, TaskBatchItemStatus.INVALID, message);
+            } else if (current instanceof OptimisticLockException) {
+                return new TaskBatchItemResult(index, taskId, TaskBatchItemStatus.CONFLICT, "task has been modified concurrently");
+            } else if (current instanceof EntityNotFoundException) {
+                return new TaskBatchItemResult(index, taskId, TaskBatchItemStatus.NOT_FOUND, "task does not exist");
+            }
+        }
+        return new TaskBatchItemResult(index, taskId, TaskBatchItemStatus.FAILED, "task could not be processed");
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public UUID getTaskId() {
+        return taskId;
+    }
+
+    public TaskBatchItemStatus getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @see Object#toString()
+     */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " { index : " + this.index + ", taskId : " + this.taskId + ", status : " + this.status + " }";
+    }
+}
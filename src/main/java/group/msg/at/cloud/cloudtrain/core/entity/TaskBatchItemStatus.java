@@ -0,0 +1,35 @@
+package group.msg.at.cloud.cloudtrain.core.entity;
+
+/**
+ * Enumeration representing the outcome of processing a single item of a {@link Task} batch.
+ */
+public enum TaskBatchItemStatus {
+    /**
+     * Task has been created.
+     */
+    CREATED,
+    /**
+     * Task has been modified.
+     */
+    MODIFIED,
+    /**
+     * Task has been removed.
+     */
+    REMOVED,
+    /**
+     * Task is invalid and has not been processed.
+     */
+    INVALID,
+    /**
+     * Task does not exist.
+     */
+    NOT_FOUND,
+    /**
+     * Task has been modified concurrently by another user.
+     */
+    CONFLICT,
+    /**
+     * Processing of the task failed for any other reason.
+     */
+    FAILED
+}
@@ -0,0 +1,105 @@
+package group.msg.at.cloud.cloudtrain.core.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only {@code Entity} type that represents an entry of the change log of all {@link Task}s.
+ * <p>
+ * Change log entries are written by a database trigger within the transaction modifying a task,
+ * so they are never written by this application. Entries are ordered by their ID; entries older
+ * than the configured retention period are purged.
+ * </p>
+ */
+@Entity
+@Table(name = "T_TASK_CHANGE")
+@NamedQueries({@NamedQuery(name = TaskChange.QUERY_AFTER, query = "SELECT c FROM TaskChange c WHERE c.id > :after ORDER BY c.id"),
+        @NamedQuery(name = TaskChange.QUERY_BY_IDS, query = "SELECT c FROM TaskChange c WHERE c.id IN :ids ORDER BY c.id"),
+        @NamedQuery(name = TaskChange.QUERY_REMOVED_TASK_IDS_SINCE, query = "SELECT DISTINCT c.taskId FROM TaskChange c WHERE c.type = group.msg.at.cloud.cloudtrain.core.entity.TaskChangeType.REMOVED AND c.changedAt >= :since"),
+        @NamedQuery(name = TaskChange.QUERY_LATEST_ID, query = "SELECT MAX(c.id) FROM TaskChange c"),
+        @NamedQuery(name = TaskChange.DELETE_BEFORE, query = "DELETE FROM TaskChange c WHERE c.changedAt < :before")})
+public class TaskChange {
+
+    private static final String JPA_NAME_PREFIX = "TaskChange.";
+
+    /**
+     * Returns all changes with an ID greater than parameter {@code after} ordered by ID.
+     */
+    public static final String QUERY_AFTER = JPA_NAME_PREFIX + "QUERY_AFTER";
+
+    /**
+     * Returns all changes with an ID contained in collection parameter {@code ids} ordered by ID.
+     */
+    public static final String QUERY_BY_IDS = JPA_NAME_PREFIX + "QUERY_BY_IDS";
+
+    /**
+     * Returns the IDs of all tasks removed at or after parameter {@code since}; serves as tombstones of removed tasks.
+     */
+    public static final String QUERY_REMOVED_TASK_IDS_SINCE = JPA_NAME_PREFIX + "QUERY_REMOVED_TASK_IDS_SINCE";
+
+    /**
+     * Returns the ID of the latest change or {@code null} if there are no changes.
+     */
+    public static final String QUERY_LATEST_ID = JPA_NAME_PREFIX + "QUERY_LATEST_ID";
+
+    /**
+     * Bulk deletes all changes which happened before parameter {@code before}.
+     */
+    public static final String DELETE_BEFORE = JPA_NAME_PREFIX + "DELETE_BEFORE";
+
+    /**
+     * Unique, monotonically increasing identifier of this change.
+     */
+    @Id
+    @Column(name = "CHANGE_ID", insertable = false, updatable = false)
+    private long id;
+
+    @Column(name = "TASK_ID", insertable = false, updatable = false)
+    private UUID taskId;
+
+    @Column(name = "CHANGE_TYPE", insertable = false, updatable = false)
+    @Enumerated(EnumType.STRING)
+    private TaskChangeType type;
+
+    /**
+     * Version of the task after the change; version of the removed task for removals.
+     */
+    @Column(name = "TASK_VERSION", insertable = false, updatable = false)
+    private int taskVersion;
+
+    /**
+     * Date/time when the transaction changing the task started.
+     */
+    @Column(name = "CHANGED_AT", insertable = false, updatable = false)
+    private LocalDateTime changedAt;
+
+    public long getId() {
+        return id;
+    }
+
+    public UUID getTaskId() {
+        return taskId;
+    }
+
+    public TaskChangeType getType() {
+        return type;
+    }
+
+    public int getTaskVersion() {
+        return taskVersion;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    /**
+     * @see Object#toString()
+     */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " { id : " + this.id + ", taskId : " + this.taskId + ", type : " + this.type + " }";
+    }
+}
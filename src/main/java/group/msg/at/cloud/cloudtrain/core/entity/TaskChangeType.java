@@ -0,0 +1,10 @@
+package group.msg.at.cloud.cloudtrain.core.entity;
+
+/**
+ * Type of a {@link TaskChange}.
+ */
+public enum TaskChangeType {
+    CREATED,
+    MODIFIED,
+    REMOVED
+}
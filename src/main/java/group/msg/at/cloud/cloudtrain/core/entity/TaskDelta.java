@@ -0,0 +1,59 @@
+package group.msg.at.cloud.cloudtrain.core.entity;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * All changes of {@link Task}s since a given {@link TaskSyncToken} required to synchronize a client's copy of all tasks.
+ * <p>
+ * Clients pass {@link #getSyncToken()} as the start of their next synchronization. Consecutive deltas may overlap,
+ * so clients must be prepared to receive the same version of a task more than once.
+ * </p>
+ */
+public final class TaskDelta {
+
+    /**
+     * Tasks created or modified since the requested date/time, ordered by modification date/time.
+     */
+    private final List<Task> modifiedTasks;
+
+    /**
+     * IDs of all tasks removed since the requested date/time.
+     */
+    private final Set<UUID> removedTaskIds;
+
+    /**
+     * Opaque token to start the next synchronization with.
+     */
+    private final String syncToken;
+
+    /**
+     * {@code false} if there are more modified tasks than returned, i.e. the client should synchronize again
+     * immediately.
+     */
+    private final boolean complete;
+
+    public TaskDelta(List<Task> modifiedTasks, Set<UUID> removedTaskIds, TaskSyncToken syncToken, boolean complete) {
+        this.modifiedTasks = modifiedTasks;
+        this.removedTaskIds = removedTaskIds;
+        this.syncToken = syncToken.format();
+        this.complete = complete;
+    }
+
+    public List<Task> getModifiedTasks() {
+        return modifiedTasks;
+    }
+
+    public Set<UUID> getRemovedTaskIds() {
+        return removedTaskIds;
+    }
+
+    public String getSyncToken() {
+        return syncToken;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+}
@@ -0,0 +1,52 @@
+package group.msg.at.cloud.cloudtrain.core.entity;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Names of all {@link Task} attributes which may be selected by projections (sparse fieldsets).
+ * <p>
+ * Attribute names equal the property names of the JSON representation of a task.
+ * </p>
+ */
+public final class TaskFields {
+
+    /**
+     * Attribute always contained in projections since it identifies the task and is required for keyset pagination.
+     */
+    public static final String ID = "id";
+
+    public static final List<String> ALL = List.of(ID, "subject", "description", "category", "priority", "lifeCycleState",
+            "submittedAt", "submitterUserId", "dueDate", "completionRate", "completionDate", "completedByUserId",
+            "responsibleUserId", "affectedProjectId", "affectedApplicationId", "affectedModule", "affectedResource",
+            "estimatedEffort", "actualEffort", "version", "createdBy", "createdAt", "lastModifiedBy", "lastModifiedAt");
+
+    /**
+     * Attributes maintained by the server which clients must not modify.
+     */
+    public static final Set<String> SERVER_MANAGED = Set.of(ID, "version", "createdBy", "createdAt", "lastModifiedBy", "lastModifiedAt");
+
+    private TaskFields() {
+    }
+
+    /**
+     * Parses a comma-separated list of attribute names.
+     *
+     * @param fields comma-separated list of attribute names
+     * @return attribute names in the given order starting with {@link #ID}
+     * @throws IllegalArgumentException if any of the given names is not a known attribute name
+     */
+    public static Set<String> parse(String fields) {
+        Set<String> result = new LinkedHashSet<>();
+        result.add(ID);
+        Arrays.stream(fields.split(",")).map(String::trim).filter(f -> !f.isEmpty()).forEach(field -> {
+            if (!ALL.contains(field)) {
+                throw new IllegalArgumentException(String.format("unknown task field [%s]", field));
+            }
+            result.add(field);
+        });
+        return result;
+    }
+}
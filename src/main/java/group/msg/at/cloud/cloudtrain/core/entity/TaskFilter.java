@@ -0,0 +1,101 @@
+package group.msg.at.cloud.cloudtrain.core.entity;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Filter criteria for querying {@link Task} entities.
+ * <p>
+ * All criteria are optional; {@code null} or empty criteria do not restrict the result.
+ * Multiple values of the same criterion are combined with {@code OR}, different criteria with {@code AND}.
+ * </p>
+ */
+public class TaskFilter {
+
+    private Set<TaskLifeCycleState> lifeCycleStates;
+
+    private Set<TaskPriority> priorities;
+
+    private Set<TaskCategory> categories;
+
+    private String responsibleUserId;
+
+    private String affectedProjectId;
+
+    private LocalDateTime dueAfter;
+
+    private LocalDateTime dueBefore;
+
+    public Set<TaskLifeCycleState> getLifeCycleStates() {
+        return lifeCycleStates;
+    }
+
+    public void setLifeCycleStates(Set<TaskLifeCycleState> lifeCycleStates) {
+        this.lifeCycleStates = lifeCycleStates;
+    }
+
+    public Set<TaskPriority> getPriorities() {
+        return priorities;
+    }
+
+    public void setPriorities(Set<TaskPriority> priorities) {
+        this.priorities = priorities;
+    }
+
+    public Set<TaskCategory> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(Set<TaskCategory> categories) {
+        this.categories = categories;
+    }
+
+    public String getResponsibleUserId() {
+        return responsibleUserId;
+    }
+
+    public void setResponsibleUserId(String responsibleUserId) {
+        this.responsibleUserId = responsibleUserId;
+    }
+
+    public String getAffectedProjectId() {
+        return affectedProjectId;
+    }
+
+    public void setAffectedProjectId(String affectedProjectId) {
+        this.affectedProjectId = affectedProjectId;
+    }
+
+    /**
+     * Inclusive lower bound of the due date.
+     */
+    public LocalDateTime getDueAfter() {
+        return dueAfter;
+    }
+
+    public void setDueAfter(LocalDateTime dueAfter) {
+        this.dueAfter = dueAfter;
+    }
+
+    /**
+     * Exclusive upper bound of the due date.
+     */
+    public LocalDateTime getDueBefore() {
+        return dueBefore;
+    }
+
+    public void setDueBefore(LocalDateTime dueBefore) {
+        this.dueBefore = dueBefore;
+    }
+
+    /**
+     * @see Object#toString()
+     */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " { lifeCycleStates : " + lifeCycleStates + ", priorities : " + priorities
+                + ", categories : " + categories + ", responsibleUserId : " + responsibleUserId
+                + ", affectedProjectId : " + affectedProjectId + ", dueAfter : " + dueAfter
+                + ", dueBefore : " + dueBefore + " }";
+    }
+}
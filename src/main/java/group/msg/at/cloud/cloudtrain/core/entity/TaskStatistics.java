@@ -0,0 +1,119 @@
+package group.msg.at.cloud.cloudtrain.core.entity;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Statistics over all {@link Task}s used by task dashboards.
+ * <p>
+ * Counts are provided for each life-cycle state, priority and category, including zero counts.
+ * </p>
+ */
+public final class TaskStatistics {
+
+    /**
+     * Life-cycle states of tasks which are no longer worked on and thus never overdue.
+     */
+    public static final List<TaskLifeCycleState> CLOSED_STATES = List.of(
+            TaskLifeCycleState.CLOSED_COMPLETED, TaskLifeCycleState.CLOSED_REVOKED, TaskLifeCycleState.CLOSED_CANCELLED);
+
+    private final long totalCount;
+
+    /**
+     * Number of open tasks whose due date has passed.
+     */
+    private final long overdueCount;
+
+    /**
+     * Average completion rate in percent of all tasks; {@code 0} if there are no tasks.
+     */
+    private final double averageCompletionRate;
+
+    private final Map<TaskLifeCycleState, Long> countsByLifeCycleState;
+
+    private final Map<TaskPriority, Long> countsByPriority;
+
+    private final Map<TaskCategory, Long> countsByCategory;
+
+    /**
+     * Date/time when these statistics have been computed.
+     */
+    private final LocalDateTime computedAt;
+
+    private TaskStatistics(long totalCount, long overdueCount, double averageCompletionRate,
+                           Map<TaskLifeCycleState, Long> countsByLifeCycleState, Map<TaskPriority, Long> countsByPriority,
+                           Map<TaskCategory, Long> countsByCategory, LocalDateTime computedAt) {
+        this.totalCount = totalCount;
+        this.overdueCount = overdueCount;
+        this.averageCompletionRate = averageCompletionRate;
+        this.countsByLifeCycleState = Collections.unmodifiableMap(countsByLifeCycleState);
+        this.countsByPriority = Collections.unmodifiableMap(countsByPriority);
+        this.countsByCategory = Collections.unmodifiableMap(countsByCategory);
+        this.computedAt = computedAt;
+    }
+
+    /**
+     * Combines the given groups computed by the database into statistics over all tasks.
+     *
+     * @param groups     result of {@link Task#QUERY_STATISTICS}
+     * @param computedAt date/time the given groups have been computed at
+     */
+    public static TaskStatistics of(List<TaskStatisticsGroup> groups, LocalDateTime computedAt) {
+        Map<TaskLifeCycleState, Long> byLifeCycleState = zeroCounts(TaskLifeCycleState.class);
+        Map<TaskPriority, Long> byPriority = zeroCounts(TaskPriority.class);
+        Map<TaskCategory, Long> byCategory = zeroCounts(TaskCategory.class);
+        long total = 0;
+        long overdue = 0;
+        long completionRateSum = 0;
+        for (TaskStatisticsGroup group : groups) {
+            long count = group.count();
+            total += count;
+            overdue += group.overdueCount() != null ? group.overdueCount() : 0;
+            completionRateSum += group.completionRateSum() != null ? group.completionRateSum() : 0;
+            byLifeCycleState.merge(group.lifeCycleState(), count, Long::sum);
+            byPriority.merge(group.priority(), count, Long::sum);
+            byCategory.merge(group.category(), count, Long::sum);
+        }
+        double averageCompletionRate = total > 0 ? (double) completionRateSum / total : 0.0;
+        return new TaskStatistics(total, overdue, averageCompletionRate, byLifeCycleState, byPriority, byCategory, computedAt);
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> zeroCounts(Class<E> enumType) {
+        Map<E, Long> result = new EnumMap<>(enumType);
+        for (E value : enumType.getEnumConstants()) {
+            result.put(value, 0L);
+        }
+        return result;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getOverdueCount() {
+        return overdueCount;
+    }
+
+    public double getAverageCompletionRate() {
+        return averageCompletionRate;
+    }
+
+    public Map<TaskLifeCycleState, Long> getCountsByLifeCycleState() {
+        return countsByLifeCycleState;
+    }
+
+    public Map<TaskPriority, Long> getCountsByPriority() {
+        return countsByPriority;
+    }
+
+    public Map<TaskCategory, Long> getCountsByCategory() {
+        return countsByCategory;
+    }
+
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+}
@@ -0,0 +1,18 @@
+package group.msg.at.cloud.cloudtrain.core.entity;
+
+/**
+ * Aggregates of all {@link Task}s sharing the same life-cycle state, priority and category.
+ * <p>
+ * Result type of {@link Task#QUERY_STATISTICS}; combined into {@link TaskStatistics}.
+ * </p>
+ *
+ * @param lifeCycleState    life-cycle state of all tasks of this group
+ * @param priority          priority of all tasks of this group
+ * @param category          category of all tasks of this group
+ * @param count             number of tasks in this group
+ * @param completionRateSum sum of the completion rates of all tasks in this group
+ * @param overdueCount      number of open tasks in this group whose due date has passed
+ */
+public record TaskStatisticsGroup(TaskLifeCycleState lifeCycleState, TaskPriority priority, TaskCategory category,
+                                  Long count, Long completionRateSum, Long overdueCount) {
+}
@@ -0,0 +1,58 @@
+package group.msg.at.cloud.cloudtrain.core.entity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position within the modifications of all {@link Task}s ordered by modification date/time and ID to start the
+ * next synchronization of a client's copy of all tasks with.
+ * <p>
+ * Clients treat tokens as opaque strings obtained via {@link #format()}. Since tasks modified at the same
+ * date/time are ordered by their ID, a token continues a truncated synchronization right after the last returned
+ * task, even if more tasks share its modification date/time than fit into a single delta.
+ * </p>
+ *
+ * @param modifiedSince modification date/time to start with
+ * @param after         ID of the last task modified at {@code modifiedSince} which has already been synchronized
+ *                      or {@code null} to include all tasks modified at {@code modifiedSince}
+ */
+public record TaskSyncToken(LocalDateTime modifiedSince, UUID after) {
+
+    private static final char SEPARATOR = '~';
+
+    /**
+     * Returns a token starting with all tasks modified at or after the given date/time.
+     */
+    public static TaskSyncToken since(LocalDateTime modifiedSince) {
+        return new TaskSyncToken(modifiedSince, null);
+    }
+
+    /**
+     * Parses the given token returned by {@link #format()}.
+     *
+     * @throws IllegalArgumentException if the given token is invalid
+     */
+    public static TaskSyncToken parse(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            if (separator < 0) {
+                return since(LocalDateTime.parse(decoded));
+            }
+            return new TaskSyncToken(LocalDateTime.parse(decoded.substring(0, separator)), UUID.fromString(decoded.substring(separator + 1)));
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException(String.format("invalid sync token [%s]", token), ex);
+        }
+    }
+
+    /**
+     * Returns this token as an opaque URL-safe string.
+     */
+    public String format() {
+        String decoded = after != null ? modifiedSince.toString() + SEPARATOR + after : modifiedSince.toString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(decoded.getBytes(StandardCharsets.UTF_8));
+    }
+}
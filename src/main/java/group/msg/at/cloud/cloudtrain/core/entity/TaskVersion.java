@@ -0,0 +1,15 @@
+package group.msg.at.cloud.cloudtrain.core.entity;
+
+import java.util.UUID;
+
+/**
+ * Projection of a {@link Task} onto its ID and its optimistic lock version.
+ * <p>
+ * Sufficient to decide whether a client's copy of a task is still up-to-date without loading the whole task.
+ * </p>
+ *
+ * @param id      ID of the task
+ * @param version current optimistic lock version of the task
+ */
+public record TaskVersion(UUID id, int version) {
+}
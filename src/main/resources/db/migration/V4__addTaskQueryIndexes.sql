@@ -0,0 +1,14 @@
+/*
+ * V4__addTaskQueryIndexes.sql
+ * Adds composite indexes supporting filtered task queries; all indexes end with TASK_ID
+ * to support keyset pagination ordered by TASK_ID.
+ */
+CREATE INDEX X_TASK_STATE_PRIORITY ON T_TASK (LIFECYCLE_STATE, PRIORITY, TASK_ID);
+
+CREATE INDEX X_TASK_CATEGORY ON T_TASK (CATEGORY, TASK_ID);
+
+CREATE INDEX X_TASK_RESPONSIBLE_STATE ON T_TASK (RESPONSIBLE_USER_ID, LIFECYCLE_STATE, TASK_ID);
+
+CREATE INDEX X_TASK_PROJECT_STATE ON T_TASK (AFFECTED_PROJECT_ID, LIFECYCLE_STATE, TASK_ID);
+
+CREATE INDEX X_TASK_DUE_DATE ON T_TASK (DUE_DATE, TASK_ID);
@@ -0,0 +1,37 @@
+/*
+ * V5__addTaskChangeLog.sql
+ * Adds a change log of all tasks which is populated by a trigger within the modifying transaction;
+ * each committed transaction notifies channel cloudtrain_task_changes, so all application instances
+ * learn about changes made by any instance.
+ */
+CREATE TABLE T_TASK_CHANGE (
+    CHANGE_ID BIGSERIAL NOT NULL,
+    TASK_ID UUID NOT NULL,
+    CHANGE_TYPE VARCHAR(16) NOT NULL,
+    TASK_VERSION BIGINT NOT NULL,
+    CHANGED_AT TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE UNIQUE INDEX X_TASK_CHANGE ON T_TASK_CHANGE (CHANGE_ID);
+
+ALTER TABLE T_TASK_CHANGE ADD PRIMARY KEY USING INDEX X_TASK_CHANGE;
+
+CREATE INDEX X_TASK_CHANGE_CHANGED_AT ON T_TASK_CHANGE (CHANGED_AT);
+
+CREATE FUNCTION F_LOG_TASK_CHANGE() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO T_TASK_CHANGE (TASK_ID, CHANGE_TYPE, TASK_VERSION) VALUES (NEW.TASK_ID, 'CREATED', NEW.OPT_LOCK_VERSION);
+    ELSIF TG_OP = 'UPDATE' THEN
+        INSERT INTO T_TASK_CHANGE (TASK_ID, CHANGE_TYPE, TASK_VERSION) VALUES (NEW.TASK_ID, 'MODIFIED', NEW.OPT_LOCK_VERSION);
+    ELSE
+        INSERT INTO T_TASK_CHANGE (TASK_ID, CHANGE_TYPE, TASK_VERSION) VALUES (OLD.TASK_ID, 'REMOVED', OLD.OPT_LOCK_VERSION);
+    END IF;
+    -- identical notifications of the same transaction are delivered only once after commit
+    PERFORM pg_notify('cloudtrain_task_changes', '');
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER TR_TASK_CHANGE AFTER INSERT OR UPDATE OR DELETE ON T_TASK
+    FOR EACH ROW EXECUTE FUNCTION F_LOG_TASK_CHANGE();
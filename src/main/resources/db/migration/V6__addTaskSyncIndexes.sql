@@ -0,0 +1,8 @@
+/*
+ * V6__addTaskSyncIndexes.sql
+ * Adds indexes supporting incremental synchronization of tasks: tasks modified since a given date/time
+ * and tombstones of tasks removed since a given date/time.
+ */
+CREATE INDEX X_TASK_LAST_MODIFIED ON T_TASK (LAST_MODIFIED_AT, TASK_ID);
+
+CREATE INDEX X_TASK_CHANGE_REMOVED ON T_TASK_CHANGE (CHANGED_AT) WHERE CHANGE_TYPE = 'REMOVED';
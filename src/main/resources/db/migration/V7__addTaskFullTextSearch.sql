@@ -0,0 +1,12 @@
+/*
+ * V7__addTaskFullTextSearch.sql
+ * Adds a generated full-text search vector over subject and description of each task; matches in the subject
+ * are weighted higher than matches in the description. The language-neutral text search configuration 'simple'
+ * is used since tasks are written in various languages.
+ */
+ALTER TABLE T_TASK ADD COLUMN SEARCH_VECTOR TSVECTOR GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(SUBJECT, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(DESCRIPTION, '')), 'B')
+) STORED;
+
+CREATE INDEX X_TASK_SEARCH ON T_TASK USING GIN (SEARCH_VECTOR);
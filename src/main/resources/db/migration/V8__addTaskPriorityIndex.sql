@@ -0,0 +1,6 @@
+/*
+ * V8__addTaskPriorityIndex.sql
+ * Adds an index supporting task queries filtering by priority without life-cycle state, which cannot use
+ * index X_TASK_STATE_PRIORITY leading with LIFECYCLE_STATE.
+ */
+CREATE INDEX X_TASK_PRIORITY ON T_TASK (PRIORITY, TASK_ID);
@@ -0,0 +1,44 @@
+#!/bin/sh
+# ----------------------------------------------------------------------------
+# Exercises all endpoints of the tasks resource once
+# ----------------------------------------------------------------------------
+# usage: exercise-tasks.sh <base URL> <access token>
+#
+set -e
+
+BASE_URL=${1:-http://localhost:38080}
+ACCESS_TOKEN=${2:?access token required}
+TASKS_URL="${BASE_URL}/api/v1/tasks"
+TASK='{"subject":"training","description":"created by AppCDS training run","category":"NEW_FEATURE","priority":"MEDIUM","affectedProjectId":"CloudTrain","affectedApplicationId":"cnj-tracing"}'
+
+get() {
+  curl --silent --show-error --fail --header "Authorization: Bearer ${ACCESS_TOKEN}" --header 'Accept: application/json' "$@"
+}
+
+call() {
+  curl --silent --show-error --fail --output /dev/null --header "Authorization: Bearer ${ACCESS_TOKEN}" "$@"
+}
+
+location=$(curl --silent --show-error --fail --output /dev/null --dump-header - \
+  --header "Authorization: Bearer ${ACCESS_TOKEN}" --header 'Content-Type: application/json' \
+  --data "${TASK}" "${TASKS_URL}" | tr -d '\r' | sed -n 's/^[Ll]ocation: *//p')
+
+call --header 'Accept: application/json' "${location}"
+call --header 'Accept: application/cbor' "${location}"
+call --header 'Accept: application/json' "${location}?fields=id,subject,priority"
+call --request PUT --header 'Content-Type: application/json' --data "$(get "${location}")" "${location}"
+call --request PATCH --header 'Content-Type: application/merge-patch+json' --data '{"priority":"HIGH"}' "${location}"
+
+call --header 'Accept: application/json' --compressed "${TASKS_URL}"
+call --header 'Accept: application/cbor' "${TASKS_URL}?limit=10"
+call --header 'Accept: application/json' "${TASKS_URL}?stream=true"
+call --header 'Accept: application/json' "${TASKS_URL}?modifiedSince=2000-01-01T00:00:00"
+call --header 'Accept: application/json' "${TASKS_URL}/query?priority=HIGH&category=NEW_FEATURE&affectedProjectId=CloudTrain"
+call --header 'Accept: application/json' "${TASKS_URL}/search?q=training"
+call --header 'Accept: application/json' "${TASKS_URL}/statistics"
+call --max-time 2 --header 'Accept: text/event-stream' "${TASKS_URL}/changes" || true
+
+call --header 'Accept: application/json' --header 'Content-Type: application/json' \
+  --data "[${TASK},${TASK}]" "${TASKS_URL}:batch"
+
+call --request DELETE "${location}"
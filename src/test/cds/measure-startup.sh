@@ -0,0 +1,47 @@
+#!/bin/sh
+# ----------------------------------------------------------------------------
+# Measures startup of the backend image with and without AppCDS archive
+# ----------------------------------------------------------------------------
+# Starts the backend several times with CDS_ENABLED=false and CDS_ENABLED=true
+# and prints for each start the time from JVM start until readiness, as
+# reported by metric cloudtrain.startup.readyTime, and the time from container
+# start until the first successful GET /api/v1/tasks.
+#
+# usage: measure-startup.sh <image tag> [<runs>]
+#
+set -e
+
+cd "$(dirname "$0")"
+
+export BACKEND_IMAGE_TAG=${1:?image tag required}
+export BACKEND_COMMAND=start
+RUNS=${2:-5}
+BASE_URL=http://localhost:38080
+ACCESS_TOKEN=$(cat training-token.jwt)
+
+trap 'docker compose down --volumes' EXIT
+
+docker compose up --detach --wait postgres downstream
+# migrate the schema upfront, so no measured start has to
+docker compose run --rm backend migrate > /dev/null
+
+printf '%-12s %-4s %16s %26s\n' "CDS_ENABLED" "run" "readyTime [ms]" "timeToFirstRequest [ms]"
+for cds in false true
+do
+  run=1
+  while [ ${run} -le "${RUNS}" ]
+  do
+    started=$(date +%s%3N)
+    CDS_ENABLED=${cds} docker compose up --detach backend > /dev/null 2>&1
+    until curl --silent --fail --output /dev/null --header "Authorization: Bearer ${ACCESS_TOKEN}" "${BASE_URL}/api/v1/tasks?limit=1"
+    do
+      sleep 0.1
+    done
+    first_request=$(( $(date +%s%3N) - started ))
+    ready=$(curl --silent "${BASE_URL}/metrics?scope=application" | sed -n 's/^cloudtrain_startup_readyTime[^ ]* \([0-9.]*\)$/\1/p')
+    printf '%-12s %-4s %16s %26s\n' "${cds}" "${run}" "${ready%.*}" "${first_request}"
+    docker compose kill backend > /dev/null 2>&1
+    docker compose rm --force backend > /dev/null 2>&1
+    run=$((run + 1))
+  done
+done
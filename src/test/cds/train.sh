@@ -0,0 +1,56 @@
+#!/bin/sh
+# ----------------------------------------------------------------------------
+# Trains the AppCDS archive of the backend image
+# ----------------------------------------------------------------------------
+# Starts the backend in training mode, exercises the tasks resource, stops the
+# backend gracefully to dump the archive and copies the archive to the given
+# output folder as application-<architecture>.jsa, e.g. application-amd64.jsa.
+# The archive is dumped to CDS_ARCHIVE_FILE of the backend container and only
+# matches the architecture of the image trained; the Dockerfile drops archives
+# which do not match the architecture of the image built.
+#
+# usage: train.sh <image tag> <output folder> [<rounds>]
+#
+set -e
+
+cd "$(dirname "$0")"
+
+export BACKEND_IMAGE_TAG=${1:?image tag required}
+OUTPUT_DIR=${2:?output folder required}
+ROUNDS=${3:-20}
+BASE_URL=http://localhost:38080
+ACCESS_TOKEN=$(cat training-token.jwt)
+
+trap 'docker compose down --volumes' EXIT
+
+docker compose up --detach
+
+echo "waiting for backend to get ready"
+attempts=0
+until curl --silent --fail --output /dev/null "${BASE_URL}/health/ready"
+do
+  attempts=$((attempts + 1))
+  if [ ${attempts} -ge 90 ]
+  then
+    echo "backend did not get ready in time"
+    docker compose logs backend
+    exit 1
+  fi
+  sleep 2
+done
+
+echo "exercising tasks resource ${ROUNDS} times"
+round=0
+while [ ${round} -lt "${ROUNDS}" ]
+do
+  ./exercise-tasks.sh "${BASE_URL}" "${ACCESS_TOKEN}"
+  round=$((round + 1))
+done
+
+echo "stopping backend to dump AppCDS archive"
+docker compose stop backend
+container=$(docker compose ps --all --quiet backend)
+archive=$(docker inspect --format '{{range .Config.Env}}{{println .}}{{end}}' "${container}" | sed -n 's/^CDS_ARCHIVE_FILE=//p')
+architecture=$(docker image inspect --format '{{.Architecture}}' "$(docker inspect --format '{{.Image}}' "${container}")")
+mkdir -p "${OUTPUT_DIR}"
+docker compose cp "backend:${archive:?CDS_ARCHIVE_FILE of backend not set}" "${OUTPUT_DIR}/application-${architecture}.jsa"
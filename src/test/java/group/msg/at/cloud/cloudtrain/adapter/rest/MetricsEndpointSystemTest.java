@@ -10,6 +10,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
 
 /**
  * System test that verifies that the REST endpoint works as expected.
@@ -42,4 +43,24 @@ public class MetricsEndpointSystemTest {
                 .statusCode(200)
                 .contentType(ContentType.TEXT);
     }
+
+    @Test
+    public void getApplicationMetricsReturnsEndpointAndLayerTimers() {
+        given().auth().oauth2(fixture.getAccessToken())
+                .accept(ContentType.JSON)
+                .get("api/v1/tasks")
+                .then()
+                .statusCode(200);
+        given()
+                .accept(ContentType.TEXT)
+                .queryParam("scope", "application")
+                .get("/metrics")
+                .then()
+                .statusCode(200)
+                .body(containsString("cloudtrain_rest_requests_seconds_count"),
+                        containsString("method=\"TasksResource.getAllTasks\""),
+                        containsString("cloudtrain_boundary_calls_seconds_count"),
+                        containsString("layer=\"permission\""),
+                        containsString("layer=\"repository\""));
+    }
 }
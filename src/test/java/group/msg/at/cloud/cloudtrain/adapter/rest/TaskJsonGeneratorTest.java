@@ -0,0 +1,85 @@
+package group.msg.at.cloud.cloudtrain.adapter.rest;
+
+import group.msg.at.cloud.cloudtrain.core.entity.Task;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.stream.JsonGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit test that verifies that {@link TaskJsonGenerator} produces the same JSON as the JSON-B mapping
+ * configured by {@link JsonbConfiguration}.
+ * <p>
+ * Tasks are populated by reflection, so properties added to {@code Task} or its super classes without
+ * adding them to the generator make this test fail.
+ * </p>
+ */
+class TaskJsonGeneratorTest {
+
+    private final Jsonb jsonb = new JsonbConfiguration().getContext(Task.class);
+
+    @Test
+    void writeWithFullyPopulatedTaskMatchesJsonb() throws IllegalAccessException {
+        Task task = populate(new Task());
+        assertEquals(jsonb.toJson(task), generate(task));
+    }
+
+    @Test
+    void writeWithMinimalTaskOmitsNullValuesLikeJsonb() {
+        Task task = new Task();
+        task.setId(UUID.randomUUID());
+        assertEquals(jsonb.toJson(task), generate(task));
+    }
+
+    private static String generate(Task task) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = TaskJsonGenerator.createGenerator(out)) {
+            TaskJsonGenerator.write(generator, task);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Sets all instance fields of the given task including inherited ones to non-default values.
+     */
+    private static Task populate(Task task) throws IllegalAccessException {
+        int counter = 1;
+        for (Class<?> type = task.getClass(); type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+                field.setAccessible(true);
+                field.set(task, createValue(field, counter++));
+            }
+        }
+        return task;
+    }
+
+    private static Object createValue(Field field, int counter) {
+        Class<?> type = field.getType();
+        if (type == String.class) {
+            return field.getName() + counter;
+        } else if (type == int.class || type == Integer.class) {
+            return counter;
+        } else if (type == long.class || type == Long.class) {
+            return (long) counter;
+        } else if (type == UUID.class) {
+            return UUID.randomUUID();
+        } else if (type == LocalDateTime.class) {
+            return LocalDateTime.of(2024, 1, counter % 28 + 1, 12, 30, 15, counter * 1_000_000);
+        } else if (type.isEnum()) {
+            Object[] constants = type.getEnumConstants();
+            return constants[constants.length - 1];
+        }
+        throw new IllegalStateException(String.format("unsupported type [%s] of field [%s]", type.getName(), field.getName()));
+    }
+}
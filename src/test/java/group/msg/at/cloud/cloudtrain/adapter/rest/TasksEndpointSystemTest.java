@@ -16,6 +16,9 @@ import org.junit.jupiter.api.Test;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
 
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -79,6 +82,89 @@ public class TasksEndpointSystemTest {
         assertValid(actual);
     }
 
+    /**
+     * Reads a task repeatedly with the permission cache disabled, so each request checks its permissions
+     * asynchronously with the token of the current user.
+     */
+    @Test
+    void getWithValidTaskIdPropagatesTokenToAsynchronousPermissionCheck() {
+        String location = addTask(createTask());
+        for (int i = 0; i < 3; i++) {
+            given().auth().oauth2(fixture.getAccessToken())
+                    .accept(ContentType.JSON)
+                    .get(location)
+                    .then()
+                    .statusCode(200);
+        }
+    }
+
+    @Test
+    void getWithMatchingIfNoneMatchReturns304() {
+        String location = addTask(createTask());
+        String etag = given().auth().oauth2(fixture.getAccessToken())
+                .accept(ContentType.JSON)
+                .get(location)
+                .then()
+                .statusCode(200)
+                .extract()
+                .header("etag");
+        assertThat(etag).as("etag").isNotBlank();
+        given().auth().oauth2(fixture.getAccessToken())
+                .accept(ContentType.JSON)
+                .header("If-None-Match", etag)
+                .get(location)
+                .then()
+                .statusCode(304);
+    }
+
+    @Test
+    void patchWithIfMatchModifiesTaskAndRejectsStaleVersion() {
+        String location = addTask(createTask());
+        String etag = given().auth().oauth2(fixture.getAccessToken())
+                .accept(ContentType.JSON)
+                .get(location)
+                .then()
+                .statusCode(200)
+                .extract()
+                .header("etag");
+        given().auth().oauth2(fixture.getAccessToken())
+                .contentType("application/merge-patch+json")
+                .header("If-Match", etag)
+                .body("{\"subject\":\"patched\"}")
+                .patch(location)
+                .then()
+                .statusCode(204);
+        Task actual = given().auth().oauth2(fixture.getAccessToken())
+                .accept(ContentType.JSON)
+                .get(location)
+                .then()
+                .statusCode(200)
+                .extract()
+                .as(Task.class);
+        assertEquals("patched", actual.getSubject(), "subject");
+        assertEquals("this is a test instance", actual.getDescription(), "description");
+        given().auth().oauth2(fixture.getAccessToken())
+                .contentType("application/merge-patch+json")
+                .header("If-Match", etag)
+                .body("{\"subject\":\"stale\"}")
+                .patch(location)
+                .then()
+                .statusCode(412);
+    }
+
+    @Test
+    void patchWithServerManagedFieldsIsRejected() {
+        String location = addTask(createTask());
+        for (String patch : List.of("{\"createdBy\":\"someone\"}", "{\"version\":42}", "{\"id\":null}")) {
+            given().auth().oauth2(fixture.getAccessToken())
+                    .contentType("application/merge-patch+json")
+                    .body(patch)
+                    .patch(location)
+                    .then()
+                    .statusCode(400);
+        }
+    }
+
     @Test
     void getWithoutTaskIdReturnsAllTasks() {
         addTask(createTask());
@@ -94,6 +180,194 @@ public class TasksEndpointSystemTest {
         assertThat(response).isNotEmpty();
     }
 
+    @Test
+    void getWithLimitReturnsPageAndNextLink() {
+        addTask(createTask());
+        addTask(createTask());
+        Response response = given().auth().oauth2(fixture.getAccessToken())
+                .accept(ContentType.JSON)
+                .queryParam("limit", 1)
+                .get("api/v1/tasks")
+                .andReturn();
+        response.then().assertThat()
+                .statusCode(200)
+                .contentType(ContentType.JSON);
+        List<Task> page = response.as(new TypeRef<List<Task>>() {
+        });
+        assertThat(page).hasSize(1);
+        assertThat(response.header("link")).as("link header").contains("rel=\"next\"").contains("after=" + page.get(0).getId());
+    }
+
+    @Test
+    void getWithStreamReturnsAllTasks() {
+        addTask(createTask());
+        List<Task> response = given().auth().oauth2(fixture.getAccessToken())
+                .accept(ContentType.JSON)
+                .queryParam("stream", true)
+                .get("api/v1/tasks")
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .extract()
+                .as(new TypeRef<List<Task>>() {
+                });
+        assertThat(response).isNotEmpty();
+        assertThat(response).allSatisfy(this::assertValid);
+    }
+
+    @Test
+    void queryWithFilterReturnsMatchingTasks() {
+        Task expected = createTask();
+        expected.setPriority(TaskPriority.CRITICAL);
+        addTask(expected);
+        List<Task> response = given().auth().oauth2(fixture.getAccessToken())
+                .accept(ContentType.JSON)
+                .queryParam("priority", TaskPriority.CRITICAL)
+                .queryParam("affectedProjectId", expected.getAffectedProjectId())
+                .get("api/v1/tasks/query")
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .extract()
+                .as(new TypeRef<List<Task>>() {
+                });
+        assertThat(response).isNotEmpty();
+        assertThat(response).allSatisfy(t -> {
+            assertEquals(TaskPriority.CRITICAL, t.getPriority(), "priority");
+            assertEquals(expected.getAffectedProjectId(), t.getAffectedProjectId(), "affectedProjectId");
+        });
+    }
+
+    @Test
+    void postBatchReturnsPerItemResults() {
+        Task invalid = createTask();
+        invalid.setSubject("x".repeat(81));
+        List<Map<String, Object>> response = given().auth().oauth2(fixture.getAccessToken())
+                .accept(ContentType.JSON)
+                .contentType(ContentType.JSON)
+                .body(List.of(createTask(), invalid, createTask()))
+                .post("api/v1/tasks:batch")
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .extract()
+                .as(new TypeRef<List<Map<String, Object>>>() {
+                });
+        response.stream().map(r -> r.get("taskId")).filter(Objects::nonNull).forEach(id -> this.trashBin.add("api/v1/tasks/" + id));
+        assertThat(response).extracting(r -> r.get("status")).containsExactly("CREATED", "INVALID", "CREATED");
+    }
+
+    @Test
+    void getWithSyncTokenContinuesTruncatedDelta() {
+        List<Map<String, Object>> created = given().auth().oauth2(fixture.getAccessToken())
+                .accept(ContentType.JSON)
+                .contentType(ContentType.JSON)
+                .body(List.of(createTask(), createTask(), createTask()))
+                .post("api/v1/tasks:batch")
+                .then()
+                .statusCode(200)
+                .extract()
+                .as(new TypeRef<List<Map<String, Object>>>() {
+                });
+        List<Object> expectedIds = created.stream().map(r -> r.get("taskId")).filter(Objects::nonNull).toList();
+        expectedIds.forEach(id -> this.trashBin.add("api/v1/tasks/" + id));
+        List<Object> synchronizedIds = new ArrayList<>();
+        Map<String, Object> delta = getDelta("modifiedSince", LocalDateTime.now().minusDays(1).toString());
+        for (int i = 0; i < 1000 && !Boolean.TRUE.equals(delta.get("complete")); i++) {
+            ((List<?>) delta.get("modifiedTasks")).forEach(t -> synchronizedIds.add(((Map<?, ?>) t).get("id")));
+            delta = getDelta("syncToken", (String) delta.get("syncToken"));
+        }
+        ((List<?>) delta.get("modifiedTasks")).forEach(t -> synchronizedIds.add(((Map<?, ?>) t).get("id")));
+        assertThat(synchronizedIds).containsAll(expectedIds).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void getStatisticsReturnsCountsOfAllTasks() {
+        addTask(createTask());
+        Map<String, Object> response = given().auth().oauth2(fixture.getAccessToken())
+                .accept(ContentType.JSON)
+                .get("api/v1/tasks/statistics")
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .extract()
+                .as(new TypeRef<Map<String, Object>>() {
+                });
+        assertThat(response).containsKeys("totalCount", "overdueCount", "averageCompletionRate",
+                "countsByLifeCycleState", "countsByPriority", "countsByCategory");
+        assertThat(((Number) response.get("totalCount")).longValue()).isPositive();
+    }
+
+    @Test
+    void searchWithMatchingTermReturnsTask() {
+        Task expected = createTask();
+        String term = "zz" + UUID.randomUUID().toString().replace("-", "");
+        expected.setSubject("search " + term);
+        addTask(expected);
+        List<Task> response = given().auth().oauth2(fixture.getAccessToken())
+                .accept(ContentType.JSON)
+                .queryParam("q", term)
+                .get("api/v1/tasks/search")
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .extract()
+                .as(new TypeRef<List<Task>>() {
+                });
+        assertThat(response).extracting(Task::getSubject).containsExactly(expected.getSubject());
+    }
+
+    /**
+     * Expects {@code cloudtrain.tasks.search.maxCandidates} to be set to {@code 5} as in the Docker Compose setup.
+     */
+    @Test
+    void searchPagesAcrossMoreMatchesThanCandidatesReturnStableCandidates() {
+        int maxCandidates = 5;
+        String term = "zz" + UUID.randomUUID().toString().replace("-", "");
+        List<String> taskIds = new ArrayList<>();
+        for (int i = 0; i < maxCandidates + 3; i++) {
+            Task task = createTask();
+            task.setSubject("search " + term);
+            String location = addTask(task);
+            taskIds.add(location.substring(location.lastIndexOf('/') + 1));
+        }
+        // equal ranks are ordered by ID, which PostgreSQL compares like lower-case strings
+        List<String> expected = taskIds.stream().map(String::toLowerCase).sorted().limit(maxCandidates).toList();
+        for (int attempt = 0; attempt < 2; attempt++) {
+            List<String> actual = new ArrayList<>();
+            for (int offset = 0; offset < maxCandidates + 3; offset += 2) {
+                List<Task> page = given().auth().oauth2(fixture.getAccessToken())
+                        .accept(ContentType.JSON)
+                        .queryParam("q", term)
+                        .queryParam("offset", offset)
+                        .queryParam("limit", 2)
+                        .get("api/v1/tasks/search")
+                        .then()
+                        .statusCode(200)
+                        .contentType(ContentType.JSON)
+                        .extract()
+                        .as(new TypeRef<List<Task>>() {
+                        });
+                page.forEach(task -> actual.add(task.getId().toString()));
+            }
+            assertThat(actual).containsExactlyElementsOf(expected);
+        }
+    }
+
+    private Map<String, Object> getDelta(String parameterName, String parameterValue) {
+        return given().auth().oauth2(fixture.getAccessToken())
+                .accept(ContentType.JSON)
+                .queryParam(parameterName, parameterValue)
+                .queryParam("limit", 1)
+                .get("api/v1/tasks")
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .extract()
+                .as(new TypeRef<Map<String, Object>>() {
+                });
+    }
+
     private String addTask(Task newTask) {
         Response postResponse = given().auth().oauth2(fixture.getAccessToken())
                 .accept(ContentType.JSON)
@@ -0,0 +1,37 @@
+// k6 load test for GET /api/v1/tasks against a backend whose granted permissions stub answers with a delay of 500 ms.
+//
+// Run with: k6 run -e ACCESS_TOKEN=<bearer token> src/test/load/tasks-virtual-threads.js
+// Compare the results with CLOUDTRAIN_CONCURRENCY_VIRTUALTHREADS_ENABLED set to true and false.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const baseUrl = __ENV.BASE_URL || 'http://localhost:38080';
+const accessToken = __ENV.ACCESS_TOKEN;
+
+export const options = {
+    scenarios: {
+        slowPermissions: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: 250 },
+                { duration: '30s', target: 1000 },
+                { duration: '2m', target: 1200 },
+                { duration: '30s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+    thresholds: {
+        http_req_failed: [ 'rate<0.01' ],
+        http_req_duration: [ 'p(95)<2000' ],
+    },
+};
+
+export default function () {
+    const response = http.get(`${baseUrl}/api/v1/tasks?limit=10`, {
+        headers: { Authorization: `Bearer ${accessToken}` },
+        timeout: '30s',
+    });
+    check(response, { 'status is 200': (r) => r.status === 200 });
+}
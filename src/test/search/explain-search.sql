@@ -0,0 +1,44 @@
+/*
+ * explain-search.sql
+ * Seeds T_TASK with a given number of generated tasks and prints the execution plans of the full-text search
+ * query for a selective and a broad search term, with and without capping the ranked candidates.
+ *
+ * Run against a database migrated by the application, e.g. the PostgreSQL container of the local Docker Compose setup:
+ *   psql -h localhost -U postgres -d cloudtrain -v rows=1000000 -v maxCandidates=10000 -f explain-search.sql
+ *
+ * Generated tasks are removed afterwards; the change log trigger is disabled while seeding and cleaning up.
+ */
+\set ON_ERROR_STOP on
+
+ALTER TABLE T_TASK DISABLE TRIGGER TR_TASK_CHANGE;
+
+INSERT INTO T_TASK (TASK_ID, SUBJECT, DESCRIPTION, CATEGORY, PRIORITY, LIFECYCLE_STATE, COMPLETION_RATE,
+                    OPT_LOCK_VERSION, CREATED_BY, LAST_MODIFIED_BY)
+SELECT gen_random_uuid(),
+       'generated ' || (ARRAY ['login', 'export', 'report', 'payment', 'upload', 'cache', 'timeout', 'layout'])[1 + i % 8] || ' ' || i,
+       'generated task about ' || (ARRAY ['database', 'frontend', 'backend', 'network', 'security'])[1 + i % 5] || ' ' || md5(i::text),
+       0, 0, 0, 0, 0, 'explain', 'explain'
+FROM generate_series(1, :rows) AS i;
+
+ANALYZE T_TASK;
+
+\echo 'selective term, capped'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT t.* FROM (SELECT * FROM T_TASK WHERE SEARCH_VECTOR @@ websearch_to_tsquery('simple', md5('4711'))
+                 ORDER BY ts_rank(SEARCH_VECTOR, websearch_to_tsquery('simple', md5('4711'))) DESC, TASK_ID LIMIT :maxCandidates) t
+ORDER BY ts_rank(t.SEARCH_VECTOR, websearch_to_tsquery('simple', md5('4711'))) DESC, t.TASK_ID LIMIT 100 OFFSET 0;
+
+\echo 'broad term matching all generated tasks, capped'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT t.* FROM (SELECT * FROM T_TASK WHERE SEARCH_VECTOR @@ websearch_to_tsquery('simple', 'generated')
+                 ORDER BY ts_rank(SEARCH_VECTOR, websearch_to_tsquery('simple', 'generated')) DESC, TASK_ID LIMIT :maxCandidates) t
+ORDER BY ts_rank(t.SEARCH_VECTOR, websearch_to_tsquery('simple', 'generated')) DESC, t.TASK_ID LIMIT 100 OFFSET 0;
+
+\echo 'broad term matching all generated tasks, uncapped'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT t.* FROM T_TASK t WHERE t.SEARCH_VECTOR @@ websearch_to_tsquery('simple', 'generated')
+ORDER BY ts_rank(t.SEARCH_VECTOR, websearch_to_tsquery('simple', 'generated')) DESC, t.TASK_ID LIMIT 100 OFFSET 0;
+
+DELETE FROM T_TASK WHERE CREATED_BY = 'explain';
+
+ALTER TABLE T_TASK ENABLE TRIGGER TR_TASK_CHANGE;